@@ -1,76 +1,260 @@
 package dev.cwby.jasonify;
 
-import dev.cwby.jasonify.exception.AOTMapperInitializerException;
+import dev.cwby.jasonify.reader.CharJsonParser;
+import dev.cwby.jasonify.reader.JsonArrayIterator;
 import dev.cwby.jasonify.reader.JsonParser;
+import dev.cwby.jasonify.reader.MappedJsonParser;
+import dev.cwby.jasonify.reader.Utf8JsonParser;
+import dev.cwby.jasonify.reader.Utf8StreamJsonParser;
 import dev.cwby.jasonify.serializer.IJsonDeserializer;
+import dev.cwby.jasonify.serializer.IJsonRegistry;
 import dev.cwby.jasonify.serializer.IJsonSerializer;
+import dev.cwby.jasonify.serializer.JsonEvents;
+import dev.cwby.jasonify.writer.FastByteBuilder;
+import dev.cwby.jasonify.writer.FastStringBuilder;
 import dev.cwby.jasonify.writer.JsonGenerator;
+import dev.cwby.jasonify.writer.JsonGeneratorPool;
+import dev.cwby.jasonify.writer.StreamingByteBuilder;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Base64;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 public class SerializerManager {
 
-    private static final Map<String, IJsonSerializer<?>> SERIALIZER_MAP = new HashMap<>();
-    private static final Map<String, IJsonDeserializer<?>> DESERIALIZER_MAP = new HashMap<>();
+    // one per module that ran the annotation processor, they only load a generated class when
+    // its type is first looked up
+    private static final List<IJsonRegistry> MODULE_REGISTRIES = ServiceLoader.load(IJsonRegistry.class).stream().map(ServiceLoader.Provider::get).toList();
+    private static final Registry<IJsonSerializer<?>> SERIALIZERS = new Registry<>(IJsonRegistry::serializer);
+    private static final Registry<IJsonDeserializer<?>> DESERIALIZERS = new Registry<>(IJsonRegistry::deserializer);
     public static final Base64.Decoder BASE64_DECODER = Base64.getDecoder();
     public static final Base64.Encoder BASE64_ENCODER = Base64.getEncoder();
+    private static final JsonGeneratorPool STRING_GENERATOR_POOL = new JsonGeneratorPool(() -> new FastStringBuilder(1000));
+    private static final JsonGeneratorPool BYTE_GENERATOR_POOL = new JsonGeneratorPool(() -> new FastByteBuilder(1000));
 
-    // TODO: jsonGenerator Pool, Object pool for json values
+    // TODO: Object pool for json values
     // TODO: add new 2 Anontations, @JsonSerialize and @JsonDeserialize, @Json will
     // be a wraper for
     // the two as @Data in lombok for getters,setters
 
-    static {
-        try {
-            Class.forName("dev.cwby.jasonify.initializer.AOTMapperInitializer");
-        } catch (ClassNotFoundException e) {
-            try {
-                throw new AOTMapperInitializerException("cant initialize the class: " + e.getMessage());
-            } catch (AOTMapperInitializerException ignored) {
-            }
-        }
+    public static <T> void registerSerializer(Class<T> type, IJsonSerializer<? super T> serializer) {
+        SERIALIZERS.register(type, serializer);
+    }
+
+    public static <T> void registerDeserializer(Class<T> type, IJsonDeserializer<? extends T> deserializer) {
+        DESERIALIZERS.register(type, deserializer);
     }
 
     public static void registerSerializer(String qualifiedName, IJsonSerializer<?> serializer) {
-        SERIALIZER_MAP.put(qualifiedName, serializer);
+        SERIALIZERS.register(qualifiedName, serializer);
     }
 
     public static void registerDeserializer(String qualifiedName, IJsonDeserializer<?> deserializer) {
-        DESERIALIZER_MAP.put(qualifiedName, deserializer);
+        DESERIALIZERS.register(qualifiedName, deserializer);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> IJsonSerializer<T> getSerializer(Class<T> type) {
+        return (IJsonSerializer<T>) SERIALIZERS.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> IJsonDeserializer<T> getDeserializer(Class<T> type) {
+        return (IJsonDeserializer<T>) DESERIALIZERS.get(type);
     }
 
     @SuppressWarnings("unchecked")
     public static <T> IJsonSerializer<T> getSerializer(String qualifiedName) {
-        return (IJsonSerializer<T>) SERIALIZER_MAP.get(qualifiedName);
+        return (IJsonSerializer<T>) SERIALIZERS.get(qualifiedName);
     }
 
     @SuppressWarnings("unchecked")
     public static <T> IJsonDeserializer<T> getDeserializer(String qualifiedName) {
-        return (IJsonDeserializer<T>) DESERIALIZER_MAP.get(qualifiedName);
+        return (IJsonDeserializer<T>) DESERIALIZERS.get(qualifiedName);
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> void appendToWriter(T type, JsonGenerator jsonGenerator) {
-        String qualifiedName = type.getClass().getCanonicalName();
-        getSerializer(qualifiedName).appendToWriter(type, jsonGenerator);
+        var serializer = (IJsonSerializer<T>) SERIALIZERS.get(type.getClass());
+        serializer.appendToWriter(type, jsonGenerator);
     }
 
     public static <T> String toJson(T type) {
-        JsonGenerator jsonGenerator = new JsonGenerator();
-        String qualifiedName = type.getClass().getCanonicalName();
-        getSerializer(qualifiedName).appendToWriter(type, jsonGenerator);
-        return jsonGenerator.getJson();
+        JsonGenerator jsonGenerator = STRING_GENERATOR_POOL.acquire();
+        try {
+            appendToWriter(type, jsonGenerator);
+            return jsonGenerator.getJson();
+        } finally {
+            STRING_GENERATOR_POOL.release(jsonGenerator);
+        }
+    }
+
+    // the stream is flushed but not closed
+    public static <T> void toJson(T type, OutputStream outputStream) throws IOException {
+        writeStreaming(type, new StreamingByteBuilder(outputStream));
+    }
+
+    public static <T> void toJson(T type, WritableByteChannel channel) throws IOException {
+        writeStreaming(type, new StreamingByteBuilder(channel));
+    }
+
+    private static <T> void writeStreaming(T type, StreamingByteBuilder buffer) throws IOException {
+        try {
+            appendToWriter(type, new JsonGenerator(buffer));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffer.flush();
+    }
+
+    public static <T> byte[] toJsonBytes(T type) {
+        JsonGenerator jsonGenerator = BYTE_GENERATOR_POOL.acquire();
+        try {
+            appendToWriter(type, jsonGenerator);
+            return ((FastByteBuilder) jsonGenerator.getAppendable()).toByteArray();
+        } finally {
+            BYTE_GENERATOR_POOL.release(jsonGenerator);
+        }
+    }
+
+    // serializes straight into the caller's array and returns the number of bytes written. Strings
+    // reserve their worst case size, so the builder can move to a bigger array near the end of
+    // dest even when the json fits, the tail is copied back then
+    public static <T> int writeTo(T type, byte[] dest, int offset) {
+        var buffer = new FastByteBuilder(dest);
+        buffer.setLength(offset);
+        appendToWriter(type, new JsonGenerator(buffer));
+        int length = buffer.length() - offset;
+        if (buffer.length() > dest.length) {
+            throw new IndexOutOfBoundsException("json of " + length + " bytes does not fit in the destination array");
+        }
+        if (buffer.getBuffer() != dest) {
+            System.arraycopy(buffer.getBuffer(), offset, dest, offset, length);
+        }
+        return length;
     }
 
     public static <T> T fromJson(String json, Class<T> clazz) throws IOException {
-        var parser = new JsonParser(json);
+        var parser = new CharJsonParser(json);
         return fromJson(parser, clazz);
     }
 
+    public static <T> T fromJson(byte[] json, Class<T> clazz) throws IOException {
+        return fromJson(json, 0, json.length, clazz);
+    }
+
+    // documents with large subtrees the target does not read can go through
+    // fromJson(new IndexedJsonParser(json), clazz) instead
+    public static <T> T fromJson(byte[] json, int offset, int length, Class<T> clazz) throws IOException {
+        return fromJson(new Utf8JsonParser(json, offset, length), clazz);
+    }
+
+    // the stream is read through a fixed buffer and is not closed
+    public static <T> T fromJson(InputStream inputStream, Class<T> clazz) throws IOException {
+        return fromJson(new Utf8StreamJsonParser(inputStream), clazz);
+    }
+
+    public static <T> T fromJson(ReadableByteChannel channel, Class<T> clazz) throws IOException {
+        return fromJson(new Utf8StreamJsonParser(channel), clazz);
+    }
+
+    public static <T> T fromJson(Path path, Class<T> clazz) throws IOException {
+        try (var parser = new MappedJsonParser(path)) {
+            return fromJson(parser, clazz);
+        }
+    }
+
+    // walks a file holding a top level array of objects, the iterator must be closed
+    public static <T> JsonArrayIterator<T> iterateJsonArray(Path path, Class<T> clazz) throws IOException {
+        var parser = new MappedJsonParser(path);
+        try {
+            return new JsonArrayIterator<>(parser, getDeserializer(clazz));
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
     public static <T> T fromJson(JsonParser parser, Class<T> clazz) throws IOException {
-        IJsonDeserializer<T> deserializer = getDeserializer(clazz.getCanonicalName());
-        return deserializer.parseJson(parser);
+        IJsonDeserializer<T> deserializer = getDeserializer(clazz);
+        try {
+            return deserializer.parseJson(parser);
+        } catch (RuntimeException e) {
+            if (JsonEvents.ENABLED) {
+                JsonEvents.LISTENER.parseError(parser, e);
+            }
+            throw e;
+        }
+    }
+
+    // Lookups are a ClassValue read. The first lookup of a class checks what was registered at
+    // runtime and then the module registries. Registrations bump a generation instead of tracking
+    // the classes they affect, so the registry holds no class it was not given and a cached entry
+    // from an older generation is computed again on its next lookup. Registrations by name are
+    // matched against the canonical name of the classes looked up
+    private static final class Registry<V> {
+        private final BiFunction<IJsonRegistry, String, ? extends V> moduleLookup;
+        private final Map<Class<?>, V> byClass = new ConcurrentHashMap<>();
+        private final Map<String, V> byName = new ConcurrentHashMap<>();
+        private volatile int generation;
+        private final ClassValue<Cached<V>> cache = new ClassValue<>() {
+            @Override
+            protected Cached<V> computeValue(Class<?> type) {
+                int current = generation;
+                V value = byClass.get(type);
+                String name = type.getCanonicalName();
+                if (value == null && name != null) {
+                    value = Registry.this.get(name);
+                }
+                return new Cached<>(value, current);
+            }
+        };
+
+        Registry(BiFunction<IJsonRegistry, String, ? extends V> moduleLookup) {
+            this.moduleLookup = moduleLookup;
+        }
+
+        V get(Class<?> type) {
+            var cached = cache.get(type);
+            if (cached.generation() != generation) {
+                cache.remove(type);
+                cached = cache.get(type);
+            }
+            return cached.value();
+        }
+
+        V get(String name) {
+            V value = byName.get(name);
+            for (int i = 0; value == null && i < MODULE_REGISTRIES.size(); i++) {
+                value = moduleLookup.apply(MODULE_REGISTRIES.get(i), name);
+            }
+            return value;
+        }
+
+        synchronized void register(Class<?> type, V value) {
+            byClass.put(type, value);
+            if (type.getCanonicalName() != null) {
+                byName.put(type.getCanonicalName(), value);
+            }
+            generation++;
+        }
+
+        synchronized void register(String name, V value) {
+            byName.put(name, value);
+            generation++;
+        }
+
+        private record Cached<V>(V value, int generation) {
+        }
     }
 }
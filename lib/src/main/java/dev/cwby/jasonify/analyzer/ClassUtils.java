@@ -2,10 +2,32 @@ package dev.cwby.jasonify.analyzer;
 
 import com.palantir.javapoet.ClassName;
 
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
 public class ClassUtils {
+    public static final String SERIALIZERS_PACKAGE = "dev.cwby.jasonify.serializers";
+    public static final String DESERIALIZERS_PACKAGE = "dev.cwby.jasonify.deserializers";
+
     public static ClassName getClassName(String qualifiedName) {
         String packageType = qualifiedName.substring(0, qualifiedName.lastIndexOf("."));
         String type = qualifiedName.substring(qualifiedName.lastIndexOf(".") + 1);
         return ClassName.get(packageType, type);
     }
+
+    public static ClassName getSerializerClassName(String simpleName) {
+        return ClassName.get(SERIALIZERS_PACKAGE, simpleName + "$$JasonifySerializer");
+    }
+
+    public static ClassName getDeserializerClassName(String simpleName) {
+        return ClassName.get(DESERIALIZERS_PACKAGE, simpleName + "$$JasonifyDeserializer");
+    }
+
+    // what a value not present in the json is left as
+    public static String getDefaultValue(TypeMirror type) {
+        if (type.getKind() == TypeKind.BOOLEAN) {
+            return "false";
+        }
+        return type.getKind().isPrimitive() ? "0" : "null";
+    }
 }
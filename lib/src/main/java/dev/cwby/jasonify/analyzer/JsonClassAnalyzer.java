@@ -1,11 +1,16 @@
 package dev.cwby.jasonify.analyzer;
 
+import dev.cwby.jasonify.annotation.Json;
+import dev.cwby.jasonify.annotation.JsonCreator;
+import dev.cwby.jasonify.annotation.JsonIgnore;
+
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.*;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -86,7 +91,6 @@ public class JsonClassAnalyzer {
             String innerMostType = type == null ? null : getInnerMostType(type, variableElement);
 
             if (!isAnnotated && annotatedClasses.contains(innerMostType)) {
-                System.out.println("changing annotated object value");
                 isAnnotated = true;
             }
 
@@ -95,6 +99,56 @@ public class JsonClassAnalyzer {
             fields.add(fieldMetadata);
         }
 
-        return new JsonClassMetadata(typeElement.getSimpleName().toString(), typeElement.getQualifiedName().toString(), fields, true, true);
+        var json = typeElement.getAnnotation(Json.class);
+        boolean inline = json != null && json.inline();
+        return new JsonClassMetadata(typeElement.getSimpleName().toString(), typeElement.getQualifiedName().toString(), fields, true, true, inline, findCreator(typeElement, fields, processingEnv));
+    }
+
+    // an annotated constructor or static factory wins over the canonical constructor of a record,
+    // everything else is created with its no-arg constructor
+    private JsonCreatorMetadata findCreator(TypeElement typeElement, List<JsonFieldMetadata> fields, ProcessingEnvironment processingEnv) {
+        var executables = typeElement.getEnclosedElements().stream()
+                .filter(el -> el.getKind() == ElementKind.CONSTRUCTOR || el.getKind() == ElementKind.METHOD)
+                .map(ExecutableElement.class::cast)
+                .toList();
+
+        ExecutableElement creator = executables.stream().filter(el -> el.getAnnotation(JsonCreator.class) != null).findFirst().orElse(null);
+        if (creator != null && creator.getKind() == ElementKind.METHOD && !creator.getModifiers().contains(Modifier.STATIC)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@JsonCreator methods must be static", creator);
+            return null;
+        }
+        if (creator == null && typeElement.getKind() == ElementKind.RECORD) {
+            Types typeUtils = processingEnv.getTypeUtils();
+            var components = typeElement.getRecordComponents();
+            creator = executables.stream()
+                    .filter(el -> el.getKind() == ElementKind.CONSTRUCTOR && el.getParameters().size() == components.size())
+                    .filter(el -> {
+                        for (int i = 0; i < components.size(); i++) {
+                            if (!typeUtils.isSameType(el.getParameters().get(i).asType(), components.get(i).asType())) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    })
+                    .findFirst()
+                    .orElse(null);
+        }
+        if (creator == null) {
+            return null;
+        }
+
+        List<JsonFieldMetadata> parameters = creator.getParameters().stream()
+                .map(parameter -> fields.stream().filter(field -> field.getName().equals(parameter.getSimpleName().toString())).findFirst().orElse(null))
+                .toList();
+        // fields the creator does not take are set on the instance it returns, which needs them
+        // to be public and not final
+        List<String> unset = fields.stream()
+                .filter(field -> !field.hasAnnotation(JsonIgnore.class) && !parameters.contains(field) && !field.isAssignable())
+                .map(JsonFieldMetadata::getName)
+                .toList();
+        if (!unset.isEmpty()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "fields " + unset + " are not creator parameters and cannot be set after it, add them to the creator or mark them @JsonIgnore", creator);
+        }
+        return new JsonCreatorMetadata(creator, parameters);
     }
 }
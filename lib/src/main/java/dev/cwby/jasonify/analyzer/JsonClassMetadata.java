@@ -7,7 +7,9 @@ public record JsonClassMetadata(
         String qualifiedName,
         List<JsonFieldMetadata> fields,
         boolean serialize,
-        boolean deserialize) {
+        boolean deserialize,
+        boolean inline,
+        JsonCreatorMetadata creator) {
 
     public String getPackage() {
         return qualifiedName.replace("." + simpleName, "");
@@ -0,0 +1,23 @@
+package dev.cwby.jasonify.analyzer;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+
+// the constructor or static factory an instance is built with, parameters holds the field each
+// parameter is read from, or null when no field has its name
+public record JsonCreatorMetadata(ExecutableElement executable, List<JsonFieldMetadata> parameters) {
+
+    public boolean isConstructor() {
+        return executable.getKind() == ElementKind.CONSTRUCTOR;
+    }
+
+    public String getFactoryName() {
+        return executable.getSimpleName().toString();
+    }
+
+    public TypeMirror getParameterType(int index) {
+        return executable.getParameters().get(index).asType();
+    }
+}
@@ -5,6 +5,8 @@ import com.palantir.javapoet.ParameterizedTypeName;
 import com.palantir.javapoet.TypeName;
 import dev.cwby.jasonify.annotation.JsonName;
 
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.ArrayType;
@@ -184,11 +186,27 @@ public class JsonFieldMetadata {
             case "java.lang.Character", "java.lang.String" -> "writeString";
             case "byte", "java.lang.Byte" -> "writeBase64String";
             case "boolean", "java.lang.Boolean" -> "writeBoolean";
-            case "int", "java.lang.Integer", "double", "java.lang.Double", "float", "java.lang.Float" -> "writeNumber";
+            // primitives resolve to the writeNumber(int|long|float|double) overloads, boxed values
+            // keep the null aware writeNumber(Number)
+            case "int", "java.lang.Integer", "long", "java.lang.Long", "short", "java.lang.Short",
+                 "double", "java.lang.Double", "float", "java.lang.Float" -> "writeNumber";
             default -> throw new IllegalStateException("Unexpected value: " + type);
         };
     }
 
+    // method that unboxes a boxed number or boolean into the matching primitive writer, null for
+    // anything that is not boxed
+    public String getUnboxingMethod(String type) {
+        return switch (type) {
+            case "java.lang.Boolean" -> "booleanValue";
+            case "java.lang.Integer", "java.lang.Short" -> "intValue";
+            case "java.lang.Long" -> "longValue";
+            case "java.lang.Double" -> "doubleValue";
+            case "java.lang.Float" -> "floatValue";
+            default -> null;
+        };
+    }
+
     public String getElementListType() {
         return getDeclaredArguments().getFirst();
     }
@@ -221,16 +239,24 @@ public class JsonFieldMetadata {
         return false;
     }
 
+    // generated deserializers set fields directly, so only public non final ones can be set
+    public boolean isAssignable() {
+        return field.getModifiers().contains(Modifier.PUBLIC) && !field.getModifiers().contains(Modifier.FINAL);
+    }
+
     public String getDeserializationMethod() {
         String tmpType = type;
         if (isMap()) {
             tmpType = getMapValueType();
+        } else if (isList()) {
+            tmpType = getInnerMost();
         }
         return switch (tmpType.replace("[]", "")) {
             case "java.lang.Character", "java.lang.String" -> "getCurrentValue";
             case "byte", "java.lang.Byte" -> "un";
             case "boolean", "java.lang.Boolean" -> "getCurrentValueBoolean";
             case "int", "java.lang.Integer" -> "getCurrentValueInteger";
+            case "long", "java.lang.Long" -> "getCurrentValueLong";
             case "double", "java.lang.Double" -> "getCurrentValueDouble";
             case "float", "java.lang.Float" -> "getCurrentValueFloat";
             default -> throw new IllegalStateException("Unexpected value: " + tmpType);
@@ -241,12 +267,15 @@ public class JsonFieldMetadata {
         String tmpType = type;
         if (isMap()) {
             tmpType = getMapValueType();
+        } else if (isList()) {
+            tmpType = getInnerMost();
         }
         return switch (tmpType.replace("[]", "")) {
             case "java.lang.Character", "java.lang.String" -> "VALUE_STRING";
             case "byte", "java.lang.Byte" -> "VALUE_STRING";
             case "boolean", "java.lang.Boolean" -> "VALUE_BOOLEAN";
             case "int", "java.lang.Integer" -> "VALUE_NUMBER";
+            case "long", "java.lang.Long" -> "VALUE_NUMBER";
             case "double", "java.lang.Double" -> "VALUE_NUMBER";
             case "float", "java.lang.Float" -> "VALUE_NUMBER";
             default -> throw new IllegalStateException("Unexpected value: " + tmpType);
@@ -365,6 +394,55 @@ public class JsonFieldMetadata {
         return result;
     }
 
+    // element type of arrays, lists and maps, or the type of the field itself
+    private TypeMirror getInnerMostMirror() {
+        TypeMirror currentType = field.asType();
+        while (true) {
+            if (currentType instanceof ArrayType arrayType) {
+                currentType = arrayType.getComponentType();
+            } else if (currentType instanceof DeclaredType declaredType
+                    && (isList() || isMap())
+                    && !declaredType.getTypeArguments().isEmpty()) {
+                currentType = declaredType.getTypeArguments().getLast();
+            } else {
+                return currentType;
+            }
+        }
+    }
+
+    public ClassName getInnerMostClassName() {
+        return ClassName.get((TypeElement) ((DeclaredType) getInnerMostMirror()).asElement());
+    }
+
+    // no subclass can show up where the type is declared, so its serializer is known up front
+    public boolean isInnerMostFinal() {
+        var element = ((DeclaredType) getInnerMostMirror()).asElement();
+        return element.getKind() == ElementKind.RECORD
+                || element.getKind() == ElementKind.ENUM
+                || element.getModifiers().contains(Modifier.FINAL);
+    }
+
+    public boolean isInnerMostEnum() {
+        return ((DeclaredType) getInnerMostMirror()).asElement().getKind() == ElementKind.ENUM;
+    }
+
+    public TypeName getTypeName() {
+        return TypeName.get(field.asType());
+    }
+
+    public String getDefaultValue() {
+        return ClassUtils.getDefaultValue(field.asType());
+    }
+
+    // innermost component of an array field, primitives included
+    public TypeName getArrayComponentType() {
+        TypeMirror currentType = field.asType();
+        while (currentType instanceof ArrayType arrayType) {
+            currentType = arrayType.getComponentType();
+        }
+        return TypeName.get(currentType);
+    }
+
     public TypeName getBaseType() {
         String type = getType().replaceAll("\\[]", "");
         return getClassNameForType(type);
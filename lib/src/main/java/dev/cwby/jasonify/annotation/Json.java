@@ -8,4 +8,7 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.SOURCE)
 public @interface Json {
+    // lets the serializers of other classes write this one's fields in place instead of calling
+    // its serializer, only applies to final classes and records without collection fields
+    boolean inline() default false;
 }
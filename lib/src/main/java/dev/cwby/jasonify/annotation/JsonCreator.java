@@ -0,0 +1,13 @@
+package dev.cwby.jasonify.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// marks the constructor or static factory the deserializer calls, parameters are matched to the
+// fields by name. Records use their canonical constructor without it
+@Target({ElementType.CONSTRUCTOR, ElementType.METHOD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface JsonCreator {
+}
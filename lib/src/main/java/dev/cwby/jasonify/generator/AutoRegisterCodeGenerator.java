@@ -3,57 +3,136 @@ package dev.cwby.jasonify.generator;
 import com.palantir.javapoet.ClassName;
 import com.palantir.javapoet.CodeBlock;
 import com.palantir.javapoet.JavaFile;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
 import com.palantir.javapoet.TypeSpec;
-import dev.cwby.jasonify.SerializerManager;
+import com.palantir.javapoet.WildcardTypeName;
+import dev.cwby.jasonify.analyzer.ClassUtils;
 import dev.cwby.jasonify.analyzer.JsonClassMetadata;
+import dev.cwby.jasonify.serializer.IJsonDeserializer;
+import dev.cwby.jasonify.serializer.IJsonRegistry;
+import dev.cwby.jasonify.serializer.IJsonSerializer;
 
 import javax.annotation.processing.Filer;
+import javax.lang.model.element.Modifier;
+import javax.tools.StandardLocation;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
 
+// Writes the module's IJsonRegistry, a string switch from qualified name to the generated
+// singletons, and the service file that lets SerializerManager find it next to other modules
 public class AutoRegisterCodeGenerator {
 
+    public static final String REGISTRY_OPTION = "jasonify.registry";
+    private static final String DEFAULT_PACKAGE = "dev.cwby.jasonify.initializer";
+    private static final String DEFAULT_SIMPLE_NAME = "JasonifyRegistry";
+    // bigger modules get their switch split by hash so no method comes near the 64 KB limit
+    private static final int MAX_CASES_PER_METHOD = 512;
+
     private final List<JsonClassMetadata> jsonClassMetadata;
     private final Filer filer;
+    private final String registryName;
 
-    public AutoRegisterCodeGenerator(List<JsonClassMetadata> jsonClassMetadata, Filer filer) {
+    public AutoRegisterCodeGenerator(List<JsonClassMetadata> jsonClassMetadata, Filer filer, String registryName) {
         this.jsonClassMetadata = jsonClassMetadata;
         this.filer = filer;
+        this.registryName = registryName;
     }
 
     public void write() {
-        var staticBlock = CodeBlock.builder();
+        if (jsonClassMetadata.isEmpty()) {
+            return;
+        }
+
+        ClassName registryClassName = getRegistryClassName();
+        var typeSpec = TypeSpec.classBuilder(registryClassName).addModifiers(Modifier.PUBLIC, Modifier.FINAL).addSuperinterface(IJsonRegistry.class);
+        addLookupMethods(typeSpec, "serializer", IJsonSerializer.class, jsonClassMetadata.stream().filter(JsonClassMetadata::serialize).toList(), ClassUtils::getSerializerClassName);
+        addLookupMethods(typeSpec, "deserializer", IJsonDeserializer.class, jsonClassMetadata.stream().filter(JsonClassMetadata::deserialize).toList(), ClassUtils::getDeserializerClassName);
+
+        try {
+            JavaFile.builder(registryClassName.packageName(), typeSpec.build()).build().writeTo(filer);
+            var serviceFile = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + IJsonRegistry.class.getName());
+            try (Writer writer = serviceFile.openWriter()) {
+                writer.write(registryClassName.reflectionName() + "\n");
+            }
+        } catch (IOException e) {
+            System.err.println("cantwrite: " + e.getMessage());
+        }
+    }
 
+    // the processor option wins, otherwise the registry goes in the package shared by the module's
+    // types with a suffix hashed from their names, two modules with types in the same package
+    // would generate the same class and hide each other's registry otherwise
+    private ClassName getRegistryClassName() {
+        if (registryName != null && !registryName.isBlank()) {
+            int index = registryName.lastIndexOf('.');
+            return index < 0 ? ClassName.get("", registryName) : ClassUtils.getClassName(registryName);
+        }
+
+        String commonPackage = null;
         for (JsonClassMetadata jcm : jsonClassMetadata) {
-            if (jcm.serialize()) {
-                var className =
-                        ClassName.get(
-                                "dev.cwby.jasonify.serializers", jcm.simpleName() + "$$JasonifySerializer");
-                staticBlock.addStatement(
-                        "$T.registerSerializer($S, new $T())",
-                        SerializerManager.class,
-                        jcm.qualifiedName(),
-                        className);
+            String packageName = jcm.getPackage();
+            if (commonPackage == null) {
+                commonPackage = packageName;
+                continue;
             }
-            if (jcm.deserialize()) {
-                var className =
-                        ClassName.get(
-                                "dev.cwby.jasonify.deserializers", jcm.simpleName() + "$$JasonifyDeserializer");
-                staticBlock.addStatement(
-                        "$T.registerDeserializer($S, new $T())",
-                        SerializerManager.class,
-                        jcm.qualifiedName(),
-                        className);
+            while (!commonPackage.isEmpty() && !packageName.equals(commonPackage) && !packageName.startsWith(commonPackage + ".")) {
+                int index = commonPackage.lastIndexOf('.');
+                commonPackage = index < 0 ? "" : commonPackage.substring(0, index);
             }
         }
+        return ClassName.get(commonPackage == null || commonPackage.isEmpty() ? DEFAULT_PACKAGE : commonPackage, DEFAULT_SIMPLE_NAME + "_" + hashTypeNames());
+    }
+
+    private String hashTypeNames() {
+        String names = String.join("\n", jsonClassMetadata.stream().map(JsonClassMetadata::qualifiedName).sorted().toList());
+        var uuid = UUID.nameUUIDFromBytes(names.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(uuid.getMostSignificantBits());
+    }
+
+    private void addLookupMethods(TypeSpec.Builder typeSpec, String name, Class<?> type, List<JsonClassMetadata> classes, Function<String, ClassName> generatedClassName) {
+        TypeName returnType = ParameterizedTypeName.get(ClassName.get(type), WildcardTypeName.subtypeOf(Object.class));
+        var method = MethodSpec.methodBuilder(name).addAnnotation(Override.class).addModifiers(Modifier.PUBLIC).returns(returnType).addParameter(String.class, "qualifiedName", Modifier.FINAL);
+
+        int methodCount = (classes.size() + MAX_CASES_PER_METHOD - 1) / MAX_CASES_PER_METHOD;
+        if (methodCount <= 1) {
+            typeSpec.addMethod(method.addCode(generateSwitch(classes, generatedClassName)).build());
+            return;
+        }
+
+        List<List<JsonClassMetadata>> buckets = new ArrayList<>();
+        for (int i = 0; i < methodCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (JsonClassMetadata jcm : classes) {
+            buckets.get(Math.floorMod(jcm.qualifiedName().hashCode(), methodCount)).add(jcm);
+        }
 
-        var typeSpec =
-                TypeSpec.classBuilder("AOTMapperInitializer").addStaticBlock(staticBlock.build()).build();
+        var dispatch = CodeBlock.builder().beginControlFlow("switch ($T.floorMod(qualifiedName.hashCode(), $L))", Math.class, methodCount);
+        for (int i = 0; i < methodCount; i++) {
+            dispatch.add("case $L:\n$>", i).addStatement("return $L$L(qualifiedName)", name, i).add("$<");
+            typeSpec.addMethod(MethodSpec.methodBuilder(name + i).addModifiers(Modifier.PRIVATE, Modifier.STATIC).returns(returnType).addParameter(String.class, "qualifiedName", Modifier.FINAL).addCode(generateSwitch(buckets.get(i), generatedClassName)).build());
+        }
+        dispatch.endControlFlow().addStatement("return null");
+        typeSpec.addMethod(method.addCode(dispatch.build()).build());
+    }
 
-        try {
-            JavaFile.builder("dev.cwby.jasonify.initializer", typeSpec).build().writeTo(filer);
-        } catch (IOException e) {
-            System.out.println("cantwrite: " + e.getMessage());
+    private CodeBlock generateSwitch(List<JsonClassMetadata> classes, Function<String, ClassName> generatedClassName) {
+        var builder = CodeBlock.builder();
+        builder.beginControlFlow("switch (qualifiedName)");
+        for (JsonClassMetadata jcm : classes) {
+            builder.add("case $S:\n$>", jcm.qualifiedName());
+            builder.addStatement("return $T.INSTANCE", generatedClassName.apply(jcm.simpleName()));
+            builder.add("$<");
         }
+        builder.endControlFlow();
+        builder.addStatement("return null");
+        return builder.build();
     }
 }
@@ -1,9 +1,9 @@
 package dev.cwby.jasonify.generator;
 
 import com.palantir.javapoet.*;
-import dev.cwby.jasonify.SerializerManager;
 import dev.cwby.jasonify.analyzer.ClassUtils;
 import dev.cwby.jasonify.analyzer.JsonClassMetadata;
+import dev.cwby.jasonify.analyzer.JsonCreatorMetadata;
 import dev.cwby.jasonify.analyzer.JsonFieldMetadata;
 import dev.cwby.jasonify.annotation.JsonIgnore;
 import dev.cwby.jasonify.reader.JsonParser;
@@ -14,14 +14,20 @@ import javax.annotation.processing.Filer;
 import javax.lang.model.element.Modifier;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class DeserializerCodeGenerator {
 
+    private static final int INITIAL_ARRAY_CAPACITY = 8;
+
     // TODO: basic interface for spliting deserialization types
     private final List<JsonClassMetadata> jsonClassMetadata;
     private final Filer filer;
+    // set while a class built through a creator is generated, its fields are read into locals
+    private JsonCreatorMetadata creator;
 
     public DeserializerCodeGenerator(List<JsonClassMetadata> jsonClassMetadata, Filer filer) {
         this.jsonClassMetadata = jsonClassMetadata;
@@ -34,37 +40,122 @@ public class DeserializerCodeGenerator {
 
     public void writeClass(JsonClassMetadata jcm) {
         ClassName className = ClassUtils.getClassName(jcm.qualifiedName());
-        var typeSpec = TypeSpec.classBuilder(jcm.simpleName() + "$$JasonifyDeserializer").addModifiers(Modifier.PUBLIC).addSuperinterface(ParameterizedTypeName.get(ClassName.get(IJsonDeserializer.class), className)).addMethod(generateParseJsonMethod(jcm, className)).build();
+        ClassName deserializerName = ClassUtils.getDeserializerClassName(jcm.simpleName());
+        var typeSpec = TypeSpec.classBuilder(deserializerName).addModifiers(Modifier.PUBLIC).addSuperinterface(ParameterizedTypeName.get(ClassName.get(IJsonDeserializer.class), className)).addField(SerializerCodeGenerator.generateInstanceField(deserializerName)).addField(generateNamesField(getDeserializedFields(jcm))).addMethod(generateParseJsonMethod(jcm, className)).addMethod(generateFieldIndexMethod(getDeserializedFields(jcm))).build();
         try {
-            JavaFile.builder("dev.cwby.jasonify.deserializers", typeSpec).build().writeTo(filer);
+            JavaFile.builder(ClassUtils.DESERIALIZERS_PACKAGE, typeSpec).build().writeTo(filer);
         } catch (IOException e) {
             System.err.println(e.getMessage());
         }
     }
 
     public MethodSpec generateParseJsonMethod(JsonClassMetadata jcm, ClassName className) {
-        return MethodSpec.methodBuilder("parseJson").addAnnotation(Override.class).addModifiers(Modifier.PUBLIC).returns(className).addParameter(JsonParser.class, "parser", Modifier.FINAL).addException(IOException.class).addStatement("parser.skipNulltoken()").addStatement("var instance = new $T()", className).addCode(generateDeserializationCode(jcm)).addStatement("return instance").build();
+        creator = jcm.creator();
+        var method = MethodSpec.methodBuilder("parseJson").addAnnotation(Override.class).addModifiers(Modifier.PUBLIC).returns(className).addParameter(JsonParser.class, "parser", Modifier.FINAL).addException(IOException.class).addStatement("parser.skipNulltoken()");
+        if (creator == null) {
+            method.addStatement("var instance = new $T()", className).addCode(generateDeserializationCode(jcm)).addStatement("return instance");
+        } else {
+            for (var field : getDeserializedFields(jcm)) {
+                method.addStatement("$T $L = $L", field.getTypeName(), getTarget(field), field.getDefaultValue());
+            }
+            method.addCode(generateDeserializationCode(jcm)).addCode(generateCreatorCall(jcm, className));
+        }
+        creator = null;
+        return method.build();
+    }
+
+    // with a creator every field is read into a local, the ones it does not take are set on the
+    // instance it returns
+    private List<JsonFieldMetadata> getDeserializedFields(JsonClassMetadata jcm) {
+        return jcm.fields().stream().filter(field -> !field.hasAnnotation(JsonIgnore.class)).toList();
+    }
+
+    // where a read value goes, a field of the instance or the local later passed to the creator
+    private String getTarget(JsonFieldMetadata field) {
+        return creator == null ? "instance." + field.getName() : "_" + field.getName();
+    }
+
+    private CodeBlock generateCreatorCall(JsonClassMetadata jcm, ClassName className) {
+        var deserialized = getDeserializedFields(jcm);
+        var arguments = CodeBlock.builder();
+        for (int i = 0; i < creator.parameters().size(); i++) {
+            var field = creator.parameters().get(i);
+            String argument = field != null && deserialized.contains(field) ? getTarget(field) : ClassUtils.getDefaultValue(creator.getParameterType(i));
+            arguments.add(i == 0 ? "$L" : ", $L", argument);
+        }
+        var call = creator.isConstructor()
+                ? CodeBlock.of("new $T($L)", className, arguments.build())
+                : CodeBlock.of("$T.$L($L)", className, creator.getFactoryName(), arguments.build());
+        var remaining = deserialized.stream().filter(field -> !creator.parameters().contains(field)).toList();
+        if (remaining.isEmpty()) {
+            return CodeBlock.builder().addStatement("return $L", call).build();
+        }
+        var builder = CodeBlock.builder().addStatement("var instance = $L", call);
+        for (var field : remaining) {
+            builder.addStatement("instance.$L = $L", field.getName(), getTarget(field));
+        }
+        return builder.addStatement("return instance").build();
+    }
+
+    // json names in the order the serializer writes them
+    private FieldSpec generateNamesField(List<JsonFieldMetadata> fields) {
+        var initializer = CodeBlock.builder().add("{");
+        for (int i = 0; i < fields.size(); i++) {
+            initializer.add(i == 0 ? "$S" : ", $S", fields.get(i).getJsonName());
+        }
+        initializer.add("}");
+        return FieldSpec.builder(String[].class, "NAMES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL).initializer(initializer.build()).build();
+    }
+
+    // keys are matched in the parser buffer by their String hash, computed here at compile time,
+    // and confirmed with currentNameEquals, so no String is created for a known field name
+    private MethodSpec generateFieldIndexMethod(List<JsonFieldMetadata> fields) {
+        Map<Integer, List<Integer>> indexesByHash = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            indexesByHash.computeIfAbsent(fields.get(i).getJsonName().hashCode(), hash -> new ArrayList<>()).add(i);
+        }
+
+        var builder = CodeBlock.builder();
+        builder.beginControlFlow("switch (parser.getCurrentNameHash())");
+        for (var entry : indexesByHash.entrySet()) {
+            builder.add("case $L:\n$>", entry.getKey());
+            for (int index : entry.getValue()) {
+                builder.beginControlFlow("if (parser.currentNameEquals($S))", fields.get(index).getJsonName());
+                builder.addStatement("return $L", index);
+                builder.endControlFlow();
+            }
+            builder.add("return -1;$<\n");
+        }
+        builder.endControlFlow();
+        builder.addStatement("return -1");
+
+        return MethodSpec.methodBuilder("fieldIndex").addModifiers(Modifier.PRIVATE, Modifier.STATIC).returns(int.class).addParameter(JsonParser.class, "parser", Modifier.FINAL).addCode(builder.build()).build();
     }
 
     private CodeBlock generateDeserializationCode(JsonClassMetadata jcm) {
         var builder = CodeBlock.builder();
+        var fields = getDeserializedFields(jcm);
 
+        // producers usually keep the declaration order, so the key after field i is checked against
+        // field i + 1 first and only a mismatch goes through the hash dispatch
+        builder.addStatement("int expected = 0");
         builder.beginControlFlow("while (parser.nextToken() != $T.END_OBJECT && parser.getCurrentToken() != $T.END_DOCUMENT)", JsonToken.class, JsonToken.class);
-        builder.beginControlFlow("if (parser.getCurrentValue() != null)");
-        builder.beginControlFlow("switch (parser.getCurrentValue())");
-
-        for (var field : jcm.fields()) {
-            if (!field.hasAnnotation(JsonIgnore.class)) {
-                builder.add("case $S:\n$>", field.getName());
-                builder.add(addFieldDeserialization(field));
-                builder.add("break;$<\n");
-            }
+        builder.beginControlFlow("if (parser.getCurrentToken() == $T.FIELD_NAME)", JsonToken.class);
+        builder.addStatement("int index = expected < NAMES.length && parser.currentNameEquals(NAMES[expected]) ? expected : fieldIndex(parser)");
+        builder.beginControlFlow("switch (index)");
+
+        for (int i = 0; i < fields.size(); i++) {
+            builder.add("case $L:\n$>", i);
+            builder.add(addFieldDeserialization(fields.get(i)));
+            builder.add("break;$<\n");
         }
         builder.add("default:\n$>");
-        builder.addStatement("parser.nextToken()");
-        builder.addStatement("parser.skipOrSkipChildren()");
+        builder.addStatement("parser.skipField()");
         builder.add("break;$<\n");
 
+        builder.endControlFlow();
+        builder.beginControlFlow("if (index >= 0)");
+        builder.addStatement("expected = index + 1");
         builder.endControlFlow();
         builder.endControlFlow();
         builder.endControlFlow();
@@ -75,16 +166,23 @@ public class DeserializerCodeGenerator {
         var builder = CodeBlock.builder();
         if (field.isByteArray()) {
             builder.addStatement("parser.nextToken()");
-            builder.addStatement("instance.$L = parser.decodeByteArray(parser.getCurrentValue())", field.getName());
+            builder.addStatement("$L = parser.decodeByteArray(parser.getCurrentValue())", getTarget(field));
         } else if (field.isList() || field.isArray()) {
             builder.addStatement("parser.nextToken()");
             builder.add(generateListDeserialization(field));
         } else if (field.isMap()) {
             builder.addStatement("parser.nextToken()");
             builder.add(generateMapDeserialization(field));
+        } else if (field.isAnnotatedObject()) {
+            builder.beginControlFlow("if (parser.nextToken() == JsonToken.START_OBJECT)");
+            builder.addStatement("$L = $T.INSTANCE.parseJson(parser)", getTarget(field), ClassUtils.getDeserializerClassName(field.getInnerMostClassName().simpleName()));
+            builder.endControlFlow();
+            builder.beginControlFlow("else");
+            builder.addStatement("parser.skipOrSkipChildren()");
+            builder.endControlFlow();
         } else {
             builder.beginControlFlow("if (parser.nextToken() == JsonToken.$L)", field.getDeserializationToken());
-            builder.addStatement("instance.$L = parser.$L()", field.getName(), field.getDeserializationMethod());
+            builder.addStatement("$L = parser.$L()", getTarget(field), field.getDeserializationMethod());
             builder.endControlFlow();
         }
         return builder.build();
@@ -99,29 +197,55 @@ public class DeserializerCodeGenerator {
         int depth = field.getDepth();
 
         if (field.isAnnotatedObject()) {
-            String type = field.getInnerMost();
-            ClassName className = field.getClassNameForType(type);
+            // the declared type is the one created, so its deserializer is always called directly
+            ClassName deserializer = ClassUtils.getDeserializerClassName(field.getInnerMostClassName().simpleName());
 
             builder.beginControlFlow("if (parser.getCurrentToken() == JsonToken.START_OBJECT)");
             if (field.isArray()) {
-                String arrayType = field.getType().replace("[", "").replace("]", "");
-                ClassName arrayClassName = field.getClassNameForType(arrayType);
-
-                builder.addStatement("list$L[list$LCount] = $T.fromJson(parser, $T.class)", depth - 1, depth - 1, SerializerManager.class, arrayClassName);
+                builder.addStatement("list$L[list$LCount++] = $T.INSTANCE.parseJson(parser)", depth - 1, depth - 1, deserializer);
             } else {
-                builder.addStatement("list$L.add($T.fromJson(parser, $T.class))", depth - 1, SerializerManager.class, className);
+                builder.addStatement("list$L.add($T.INSTANCE.parseJson(parser))", depth - 1, deserializer);
             }
             builder.endControlFlow();
+            addNullElement(builder, field, depth - 1);
+            builder.beginControlFlow("else");
+            builder.addStatement("parser.skipOrSkipChildren()");
+            builder.endControlFlow();
+        } else if (field.isArray()) {
+            builder.beginControlFlow("if (parser.getCurrentToken() == JsonToken.$L)", field.getDeserializationToken());
+            builder.addStatement("list$L[list$LCount++] = parser.$L()", depth - 1, depth - 1, field.getDeserializationMethod());
+            builder.endControlFlow();
+            addNullElement(builder, field, depth - 1);
             builder.beginControlFlow("else");
             builder.addStatement("parser.skipOrSkipChildren()");
             builder.endControlFlow();
         } else {
-            builder.addStatement("list$L.add(parser.getCurrentValue())", depth - 1);
+            builder.beginControlFlow("if (parser.getCurrentToken() == JsonToken.$L)", field.getDeserializationToken());
+            builder.addStatement("list$L.add(parser.$L())", depth - 1, field.getDeserializationMethod());
+            builder.endControlFlow();
+            addNullElement(builder, field, depth - 1);
+            builder.beginControlFlow("else");
+            builder.addStatement("parser.skipOrSkipChildren()");
+            builder.endControlFlow();
         }
 
         return builder.build();
     }
 
+    // a null keeps its slot, a primitive array has no way to hold one so it is rejected instead of
+    // shifting the elements after it
+    private void addNullElement(CodeBlock.Builder builder, JsonFieldMetadata field, int listDepth) {
+        builder.beginControlFlow("else if (parser.getCurrentToken() == JsonToken.NULL)");
+        if (!field.isArray()) {
+            builder.addStatement("list$L.add(null)", listDepth);
+        } else if (field.getArrayComponentType().isPrimitive()) {
+            builder.addStatement("throw new $T($S)", IllegalArgumentException.class, "null element in primitive array field " + field.getName());
+        } else {
+            builder.addStatement("list$L[list$LCount++] = null", listDepth, listDepth);
+        }
+        builder.endControlFlow();
+    }
+
     private CodeBlock generateForLoop(JsonFieldMetadata field, CodeBlock innerBlock) {
         var builder = CodeBlock.builder();
         generateNestedLoops(builder, field.getCallable(), innerBlock, field, field.getDepth(), 0);
@@ -146,18 +270,23 @@ public class DeserializerCodeGenerator {
 
 
     private void generateNestedLoops(CodeBlock.Builder builder, String callable, CodeBlock innerBlock, JsonFieldMetadata field, int depth, int currentDepth) {
-        String type = field.getTypeForDepth(currentDepth);
-        TypeName className = field.getClassnameWithGenerics(type);
         builder.beginControlFlow("if (parser.getCurrentToken() == JsonToken.$L)", JsonToken.START_ARRAY);
         if (field.isArray()) {
-            TypeName baseType = ClassName.bestGuess(field.getType().replace("[", "").replace("]", ""));
-            String arrayDimensionsWithSize = getArrayDimensionsByDepth("parser.countArrayEntries()", depth - currentDepth);
-            builder.addStatement("var list$L = new $T$L", currentDepth, baseType, arrayDimensionsWithSize);
+            // arrays are read in one pass into a scratch array that doubles when full and is cut
+            // to size at the end
+            String arrayDimensionsWithSize = getArrayDimensionsByDepth(String.valueOf(INITIAL_ARRAY_CAPACITY), depth - currentDepth);
+            builder.addStatement("var list$L = new $T$L", currentDepth, field.getArrayComponentType(), arrayDimensionsWithSize);
             builder.addStatement("int list$LCount = 0", currentDepth);
         } else {
+            TypeName className = field.getClassnameWithGenerics(field.getTypeForDepth(currentDepth));
             builder.addStatement("$T list$L = new $T<>()", className, currentDepth, ArrayList.class);
         }
         builder.beginControlFlow("while (parser.nextToken() != JsonToken.$L)", JsonToken.END_ARRAY);
+        if (field.isArray()) {
+            builder.beginControlFlow("if (list$LCount == list$L.length)", currentDepth, currentDepth);
+            builder.addStatement("list$L = $T.copyOf(list$L, list$LCount * 2)", currentDepth, Arrays.class, currentDepth, currentDepth);
+            builder.endControlFlow();
+        }
 
         if (currentDepth + 1 < depth) {
             generateNestedLoops(builder, callable, innerBlock, field, depth, currentDepth + 1);
@@ -166,17 +295,27 @@ public class DeserializerCodeGenerator {
         }
 
         builder.endControlFlow();
-        if (currentDepth > 0) {
-            if (field.isArray()) {
-                builder.addStatement("list$L[list$LCount] = list$L", currentDepth - 1, currentDepth - 1, currentDepth);
-                builder.addStatement("list$LCount++", currentDepth - 1);
+        if (field.isArray()) {
+            if (currentDepth > 0) {
+                builder.addStatement("list$L[list$LCount++] = $T.copyOf(list$L, list$LCount)", currentDepth - 1, currentDepth - 1, Arrays.class, currentDepth, currentDepth);
             } else {
-                builder.addStatement("list$L.add(list$L)", currentDepth - 1, currentDepth);
+                builder.addStatement("$L = $T.copyOf(list$L, list$LCount)", getTarget(field), Arrays.class, currentDepth, currentDepth);
             }
+        } else if (currentDepth > 0) {
+            builder.addStatement("list$L.add(list$L)", currentDepth - 1, currentDepth);
         } else {
-            builder.addStatement("instance.$L = list$L", callable, currentDepth);
+            builder.addStatement("$L = list$L", getTarget(field), currentDepth);
         }
         builder.endControlFlow();
+        if (currentDepth > 0) {
+            builder.beginControlFlow("else if (parser.getCurrentToken() == JsonToken.NULL)");
+            if (field.isArray()) {
+                builder.addStatement("list$L[list$LCount++] = null", currentDepth - 1, currentDepth - 1);
+            } else {
+                builder.addStatement("list$L.add(null)", currentDepth - 1);
+            }
+            builder.endControlFlow();
+        }
         builder.beginControlFlow("else");
         builder.addStatement("parser.skipOrSkipChildren()");
         builder.endControlFlow();
@@ -191,15 +330,14 @@ public class DeserializerCodeGenerator {
         int depth = field.getDepth();
 
         if (field.isAnnotatedObject()) {
-            String type = field.getInnerMost();
-            ClassName className = field.getClassNameForType(type);
+            ClassName deserializer = ClassUtils.getDeserializerClassName(field.getInnerMostClassName().simpleName());
 
             // bosta
             builder.beginControlFlow("if (parser.getCurrentToken() == JsonToken.FIELD_NAME)");
             builder.addStatement("String key = parser.getCurrentValue()");
             builder.addStatement("parser.nextToken()");
             builder.beginControlFlow("if (parser.getCurrentToken() == JsonToken.START_OBJECT)");
-            builder.addStatement("map$L.put(key, $T.fromJson(parser, $T.class))", depth - 1, SerializerManager.class, className);
+            builder.addStatement("map$L.put(key, $T.INSTANCE.parseJson(parser))", depth - 1, deserializer);
             builder.endControlFlow();
             builder.beginControlFlow("else if (parser.getCurrentToken() == JsonToken.START_OBJECT || parser.getCurrentToken() == JsonToken.START_ARRAY)");
             builder.addStatement("parser.skipOrSkipChildren()");
@@ -252,7 +390,7 @@ public class DeserializerCodeGenerator {
         if (currentDepth > 0) {
             builder.addStatement("map$L.add(map$L)", currentDepth - 1, currentDepth);
         } else {
-            builder.addStatement("instance.$L = map$L", callable, currentDepth);
+            builder.addStatement("$L = map$L", getTarget(field), currentDepth);
         }
         builder.endControlFlow();
         builder.beginControlFlow("else");
@@ -9,11 +9,16 @@ import dev.cwby.jasonify.annotation.JsonIgnore;
 import dev.cwby.jasonify.processor.JsonAnnotationProcessor;
 import dev.cwby.jasonify.serializer.IJsonSerializer;
 import dev.cwby.jasonify.writer.JsonGenerator;
+import dev.cwby.jasonify.writer.SerializedName;
 
 import javax.annotation.processing.Filer;
 import javax.lang.model.element.Modifier;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class SerializerCodeGenerator {
 
@@ -21,6 +26,10 @@ public class SerializerCodeGenerator {
     private final List<JsonClassMetadata> jsonClassMetadata;
     private final Filer filer;
     private String instanceName;
+    // names of the inlined fields, added to the class being generated after its method
+    private final Map<String, FieldSpec> inlineNames = new LinkedHashMap<>();
+    private final Set<String> inlining = new HashSet<>();
+    private int nestedCount;
 
     public SerializerCodeGenerator(
             String generatorVar, List<JsonClassMetadata> jsonClassMetadata, Filer filer) {
@@ -35,20 +44,55 @@ public class SerializerCodeGenerator {
 
     public void writeClass(JsonClassMetadata jcm) {
         ClassName className = ClassUtils.getClassName(jcm.qualifiedName());
+        ClassName serializerName = ClassUtils.getSerializerClassName(jcm.simpleName());
+        inlineNames.clear();
+        nestedCount = 0;
+        MethodSpec toJsonMethod = generateToJsonMethod(jcm.fields(), className);
         var typeSpec =
-                TypeSpec.classBuilder(jcm.simpleName() + "$$JasonifySerializer")
+                TypeSpec.classBuilder(serializerName)
                         .addModifiers(Modifier.PUBLIC)
                         .addSuperinterface(
                                 ParameterizedTypeName.get(ClassName.get(IJsonSerializer.class), className))
-                        .addMethod(generateToJsonMethod(jcm.fields(), className))
+                        .addField(generateInstanceField(serializerName))
+                        .addFields(generateFieldNames(jcm.fields()))
+                        .addFields(inlineNames.values())
+                        .addMethod(toJsonMethod)
                         .build();
         try {
-            JavaFile.builder("dev.cwby.jasonify.serializers", typeSpec).build().writeTo(filer);
+            JavaFile.builder(ClassUtils.SERIALIZERS_PACKAGE, typeSpec).build().writeTo(filer);
         } catch (IOException e) {
             System.err.println(e.getMessage());
         }
     }
 
+    // generated code calls nested serializers through this instance instead of a registry lookup
+    public static FieldSpec generateInstanceField(ClassName generatedName) {
+        return FieldSpec.builder(generatedName, "INSTANCE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T()", generatedName)
+                .build();
+    }
+
+    // names are escaped and encoded once per class instead of on every write
+    public List<FieldSpec> generateFieldNames(List<JsonFieldMetadata> fields) {
+        return fields.stream()
+                .filter(field -> !field.hasAnnotation(JsonIgnore.class))
+                .map(
+                        field ->
+                                FieldSpec.builder(
+                                                SerializedName.class,
+                                                getFieldNameConstant(field),
+                                                Modifier.PRIVATE,
+                                                Modifier.STATIC,
+                                                Modifier.FINAL)
+                                        .initializer("new $T($S)", SerializedName.class, field.getJsonName())
+                                        .build())
+                .toList();
+    }
+
+    private String getFieldNameConstant(JsonFieldMetadata field) {
+        return "NAME_" + field.getName();
+    }
+
     public MethodSpec generateToJsonMethod(List<JsonFieldMetadata> fields, ClassName className) {
         String obj = className.simpleName();
         instanceName = Character.toLowerCase(obj.charAt(0)) + obj.substring(1);
@@ -78,8 +122,13 @@ public class SerializerCodeGenerator {
 
     private CodeBlock addFieldSerializationCode(JsonFieldMetadata field) {
         var builder = CodeBlock.builder();
-        builder.addStatement("$L.writeField($S)", generatorVar, field.getJsonName());
+        builder.addStatement("$L.writeField($L)", generatorVar, getFieldNameConstant(field));
+        builder.add(addFieldValueCode(field));
+        return builder.build();
+    }
 
+    private CodeBlock addFieldValueCode(JsonFieldMetadata field) {
+        var builder = CodeBlock.builder();
         if (field.isByteArray()) {
             builder.addStatement("$L.writeBase64String($L.$L)", generatorVar, instanceName, field.getCallable());
         } else if (field.isList() || field.isArray()) {
@@ -106,12 +155,24 @@ public class SerializerCodeGenerator {
         int depth = field.getDepth();
 
         if (field.isAnnotatedObject()) {
-            builder.addStatement(
-                    "$T.appendToWriter(v$L, $L)", SerializerManager.class, depth - 1, generatorVar);
+            builder.add(generateNestedSerialization(field, "v" + (depth - 1)));
         } else {
             String methodType =
                     field.isArray() ? field.getJGString() : field.getMethodForType(field.getInnerMost());
-            builder.addStatement("$L.$L(v$L)", generatorVar, methodType, depth - 1);
+            String elementType =
+                    field.isArray() ? field.getType().replace("[]", "") : field.getInnerMost();
+            String unboxingMethod = field.getUnboxingMethod(elementType);
+            if (unboxingMethod != null) {
+                // boxed elements are unboxed here so they hit the primitive writers
+                builder.beginControlFlow("if (v$L == null)", depth - 1);
+                builder.addStatement("$L.writeNull()", generatorVar);
+                builder.nextControlFlow("else");
+                builder.addStatement(
+                        "$L.$L(v$L.$L())", generatorVar, methodType, depth - 1, unboxingMethod);
+                builder.endControlFlow();
+            } else {
+                builder.addStatement("$L.$L(v$L)", generatorVar, methodType, depth - 1);
+            }
         }
 
         return builder.build();
@@ -122,11 +183,7 @@ public class SerializerCodeGenerator {
 
         if (JsonAnnotationProcessor.annotatedClasses.contains(field.getInnerMost())) {
             builder.addStatement("$L.writeField(v$L.getKey())", generatorVar, field.getDepth() - 1);
-            builder.addStatement(
-                    "$T.appendToWriter(v$L.getValue(), $L)",
-                    SerializerManager.class,
-                    field.getDepth() - 1,
-                    generatorVar);
+            builder.add(generateNestedSerialization(field, "v" + (field.getDepth() - 1) + ".getValue()"));
         } else {
             String methodType = field.getMethodForType(field.getInnerMost());
             builder.addStatement("$L.writeField(v$L.getKey())", generatorVar, field.getDepth() - 1);
@@ -162,9 +219,13 @@ public class SerializerCodeGenerator {
         }
 
         if (currentDepth + 1 < depth) {
+            builder.beginControlFlow("if ($L == null)", loopVar);
+            builder.addStatement("$L.writeNull()", generatorVar);
+            builder.nextControlFlow("else");
             builder.add(startArray());
             generateNestedLoops(builder, callable, innerBlock, depth, currentDepth + 1);
             builder.add(endArray());
+            builder.endControlFlow();
         } else {
             builder.add(innerBlock);
         }
@@ -175,13 +236,7 @@ public class SerializerCodeGenerator {
     public CodeBlock generateSingleObjectSerialization(JsonFieldMetadata field) {
         CodeBlock.Builder builder = CodeBlock.builder();
         if (field.isAnnotatedObject()) {
-            builder.addStatement(
-                    "$T.appendToWriter($L.$L, $L)",
-                    SerializerManager.class,
-                    instanceName,
-                    field.getName(),
-                    generatorVar);
-
+            builder.add(generateNestedSerialization(field, instanceName + "." + field.getCallable()));
         } else {
             builder.addStatement(
                     "$L.$L($L.$L)", generatorVar, field.getJGString(), instanceName, field.getCallable());
@@ -189,6 +244,90 @@ public class SerializerCodeGenerator {
         return builder.build();
     }
 
+    // a final type is bound at compile time, otherwise only an exact match of the declared type is,
+    // since a subclass may have a serializer of its own. The value is read once into a local, it
+    // can be a getter call
+    private CodeBlock generateNestedSerialization(JsonFieldMetadata field, String value) {
+        String local = "nested" + nestedCount++;
+        var builder = CodeBlock.builder();
+        builder.addStatement("var $L = $L", local, value);
+        builder.beginControlFlow("if ($L == null)", local);
+        builder.addStatement("$L.writeNull()", generatorVar);
+
+        var inlined = getInlinedClass(field);
+        ClassName type = field.getInnerMostClassName();
+        ClassName serializer = ClassUtils.getSerializerClassName(type.simpleName());
+        if (inlined != null) {
+            builder.nextControlFlow("else");
+            builder.add(generateInlinedSerialization(inlined, local));
+        } else if (field.isInnerMostFinal()) {
+            builder.nextControlFlow("else");
+            builder.addStatement("$T.INSTANCE.appendToWriter($L, $L)", serializer, local, generatorVar);
+        } else {
+            builder.nextControlFlow("else if ($L.getClass() == $T.class)", local, type);
+            builder.addStatement("$T.INSTANCE.appendToWriter($L, $L)", serializer, local, generatorVar);
+            builder.nextControlFlow("else");
+            builder.addStatement("$T.appendToWriter($L, $L)", SerializerManager.class, local, generatorVar);
+        }
+        builder.endControlFlow();
+        return builder.build();
+    }
+
+    // inlining needs the exact type up front and a flat field list, collection fields would need
+    // loop variables of their own inside the loops of the caller. A type is not inlined into itself
+    private JsonClassMetadata getInlinedClass(JsonFieldMetadata field) {
+        if (!field.isInnerMostFinal() || field.isInnerMostEnum()) {
+            return null;
+        }
+        String qualifiedName = field.getInnerMostClassName().canonicalName();
+        if (inlining.contains(qualifiedName)) {
+            return null;
+        }
+        return jsonClassMetadata.stream()
+                .filter(jcm -> jcm.inline() && jcm.qualifiedName().equals(qualifiedName))
+                .filter(jcm -> jcm.fields().stream()
+                        .filter(nested -> !nested.hasAnnotation(JsonIgnore.class))
+                        .noneMatch(nested -> nested.isList() || nested.isMap() || (nested.isArray() && !nested.isByteArray())))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // the nested fields are written with the local holding the value as the instance, the opening
+    // brace and the first name go out as one literal
+    private CodeBlock generateInlinedSerialization(JsonClassMetadata jcm, String local) {
+        var fields = jcm.fields().stream().filter(field -> !field.hasAnnotation(JsonIgnore.class)).toList();
+        var builder = CodeBlock.builder();
+        String outerInstance = instanceName;
+        instanceName = local;
+        inlining.add(jcm.qualifiedName());
+        if (fields.isEmpty()) {
+            builder.add(startObject());
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            var field = fields.get(i);
+            if (i == 0) {
+                builder.addStatement("$L.writeStartObject($L)", generatorVar, getInlineName(jcm, field, true));
+            } else {
+                builder.addStatement("$L.writeField($L)", generatorVar, getInlineName(jcm, field, false));
+            }
+            builder.add(addFieldValueCode(field));
+        }
+        builder.add(endObject());
+        inlining.remove(jcm.qualifiedName());
+        instanceName = outerInstance;
+        return builder.build();
+    }
+
+    private String getInlineName(JsonClassMetadata jcm, JsonFieldMetadata field, boolean first) {
+        String name = (first ? "START_" : "NAME_") + jcm.simpleName() + "_" + field.getName();
+        inlineNames.computeIfAbsent(
+                name,
+                key -> FieldSpec.builder(SerializedName.class, key, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer(first ? "$T.objectStart($S)" : "new $T($S)", SerializedName.class, field.getJsonName())
+                        .build());
+        return name;
+    }
+
     private CodeBlock generateMapLoop(JsonFieldMetadata field, CodeBlock innerBlock) {
         var builder = CodeBlock.builder();
         builder.add(startObject());
@@ -21,6 +21,7 @@ import java.util.stream.Collectors;
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
 @SupportedAnnotationTypes("dev.cwby.jasonify.annotation.Json")
+@SupportedOptions(AutoRegisterCodeGenerator.REGISTRY_OPTION)
 public class JsonAnnotationProcessor extends AbstractProcessor {
 
     public static Set<String> annotatedClasses = new HashSet<>();
@@ -48,7 +49,7 @@ public class JsonAnnotationProcessor extends AbstractProcessor {
         if (re.processingOver()) {
             new SerializerCodeGenerator("jg", jsonClassMetadataList, processingEnv.getFiler()).write();
             new DeserializerCodeGenerator(jsonClassMetadataList, processingEnv.getFiler()).write();
-            new AutoRegisterCodeGenerator(jsonClassMetadataList, processingEnv.getFiler()).write();
+            new AutoRegisterCodeGenerator(jsonClassMetadataList, processingEnv.getFiler(), processingEnv.getOptions().get(AutoRegisterCodeGenerator.REGISTRY_OPTION)).write();
         }
 
         return true;
@@ -0,0 +1,297 @@
+package dev.cwby.jasonify.reader;
+
+import java.io.IOException;
+
+public class CharJsonParser extends JsonParser {
+
+    private final String json;
+    private final int end;
+    private final StringBuilder stringBuffer = new StringBuilder();
+    private String currentValue;
+    private int valueStart;
+    private int valueEnd;
+    private boolean valueEscaped;
+    private int pos;
+    // next backslash at or after the last string scanned, or end when there is none left, so the
+    // input is searched for backslashes only once
+    private int nextBackslash = -1;
+
+    public CharJsonParser(String json) {
+        this(json, 0, json.length());
+    }
+
+    public CharJsonParser(String json, int offset, int length) {
+        this.json = json;
+        this.pos = offset;
+        this.end = offset + length;
+        this.currentToken = null;
+        this.currentValue = null;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        int ch = nextNonSeparator();
+        currentValue = null;
+
+        if (ch == -1) {
+            currentToken = JsonToken.END_DOCUMENT;
+            return currentToken;
+        }
+
+        switch (ch) {
+            case '{':
+                currentToken = JsonToken.START_OBJECT;
+                break;
+            case '}':
+                currentToken = JsonToken.END_OBJECT;
+                break;
+            case '[':
+                currentToken = JsonToken.START_ARRAY;
+                break;
+            case ']':
+                currentToken = JsonToken.END_ARRAY;
+                break;
+            case '"':
+                scanString();
+                currentToken = consumeNameSeparator() ? JsonToken.FIELD_NAME : JsonToken.VALUE_STRING;
+                break;
+            case 'n':
+                parseLiteral("null");
+                currentToken = JsonToken.NULL;
+                break;
+            case 't':
+                parseLiteral("true");
+                currentValue = "true";
+                currentToken = JsonToken.VALUE_BOOLEAN;
+                break;
+            case 'f':
+                parseLiteral("false");
+                currentValue = "false";
+                currentToken = JsonToken.VALUE_BOOLEAN;
+                break;
+            default:
+                if ((ch >= '0' && ch <= '9') || ch == '-') {
+                    scanNumber();
+                    currentToken = JsonToken.VALUE_NUMBER;
+                } else {
+                    throw new IllegalArgumentException("Unexpected Character: " + (char) ch + " at " + (pos - 1));
+                }
+                break;
+        }
+        return currentToken;
+    }
+
+    @Override
+    protected int mark() {
+        return pos;
+    }
+
+    @Override
+    protected void reset(int mark) {
+        pos = mark;
+        currentValue = null;
+        nextBackslash = -1;
+    }
+
+    // quotes are found with indexOf, one is escaped when an odd run of backslashes comes before it
+    @Override
+    protected void skipToContainerEnd() {
+        final String json = this.json;
+        final int end = this.end;
+        currentValue = null;
+        int depth = 1;
+        int i = pos;
+        while (i < end) {
+            char ch = json.charAt(i++);
+            if (ch == '"') {
+                while (true) {
+                    int quote = json.indexOf('"', i, end);
+                    if (quote < 0) {
+                        throw new IllegalArgumentException("unterminated string");
+                    }
+                    int backslashes = quote;
+                    while (backslashes > i && json.charAt(backslashes - 1) == '\\') {
+                        backslashes--;
+                    }
+                    i = quote + 1;
+                    if (((quote - backslashes) & 1) == 0) {
+                        break;
+                    }
+                }
+            } else if (ch == '{' || ch == '[') {
+                depth++;
+            } else if ((ch == '}' || ch == ']') && --depth == 0) {
+                pos = i;
+                return;
+            }
+        }
+        pos = i;
+        throw new IllegalStateException("unexpected end of json while skiping");
+    }
+
+    // returns the first char that is not whitespace or a value separator, consuming it
+    private int nextNonSeparator() {
+        final String json = this.json;
+        final int end = this.end;
+        int i = pos;
+        while (i < end) {
+            char ch = json.charAt(i++);
+            if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t' && ch != ',' && ch != ':') {
+                pos = i;
+                return ch;
+            }
+        }
+        pos = i;
+        return -1;
+    }
+
+    private boolean consumeNameSeparator() {
+        final String json = this.json;
+        final int end = this.end;
+        int i = pos;
+        while (i < end) {
+            char ch = json.charAt(i);
+            if (ch == ':') {
+                pos = i + 1;
+                return true;
+            }
+            if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t') {
+                break;
+            }
+            i++;
+        }
+        pos = i;
+        return false;
+    }
+
+    // String.indexOf finds the closing quote, the body is only walked char by char when a
+    // backslash comes before it
+    private void scanString() {
+        final String json = this.json;
+        final int end = this.end;
+        int start = pos;
+        int quote = json.indexOf('"', start, end);
+        if (quote < 0) {
+            throw new IllegalArgumentException("unterminated string");
+        }
+        if (nextBackslash < start) {
+            int backslash = json.indexOf('\\', start, end);
+            nextBackslash = backslash < 0 ? end : backslash;
+        }
+
+        boolean escaped = nextBackslash < quote;
+        if (escaped) {
+            int i = nextBackslash;
+            while (true) {
+                if (i >= end) {
+                    throw new IllegalArgumentException("unterminated string");
+                }
+                char ch = json.charAt(i);
+                if (ch == '"') {
+                    break;
+                }
+                i += ch == '\\' ? 2 : 1;
+            }
+            quote = i;
+        }
+
+        valueStart = start;
+        valueEnd = quote;
+        valueEscaped = escaped;
+        pos = quote + 1;
+    }
+
+    private void parseLiteral(String literal) {
+        int length = literal.length();
+        if (pos - 1 + length > end || !json.regionMatches(pos, literal, 1, length - 1)) {
+            throw new IllegalArgumentException("Invalid literal: expected " + literal);
+        }
+        pos += length - 1;
+    }
+
+    // numbers are only materialized when asked for as a String
+    private void scanNumber() {
+        final String json = this.json;
+        final int end = this.end;
+        int i = pos;
+        while (i < end) {
+            char ch = json.charAt(i);
+            if ((ch >= '0' && ch <= '9') || ch == '.' || ch == 'e' || ch == 'E' || ch == '+' || ch == '-') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        valueStart = pos - 1;
+        valueEnd = i;
+        pos = i;
+    }
+
+    @Override
+    public String getCurrentValue() {
+        if (currentValue != null) {
+            return currentValue;
+        }
+
+        if (currentToken == JsonToken.FIELD_NAME || currentToken == JsonToken.VALUE_STRING) {
+            if (valueEscaped) {
+                var sb = stringBuffer;
+                sb.setLength(0);
+                unescape(json, valueStart, valueEnd, sb);
+                currentValue = sb.toString();
+            } else {
+                currentValue = json.substring(valueStart, valueEnd);
+            }
+        } else if (currentToken == JsonToken.VALUE_NUMBER) {
+            currentValue = json.substring(valueStart, valueEnd);
+        }
+        return currentValue;
+    }
+
+    @Override
+    public int getCurrentNameHash() {
+        if (valueEscaped || currentValue != null) {
+            return super.getCurrentNameHash();
+        }
+        final String json = this.json;
+        int hash = 0;
+        for (int i = valueStart; i < valueEnd; i++) {
+            hash = 31 * hash + json.charAt(i);
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean currentNameEquals(String name) {
+        if (valueEscaped) {
+            return super.currentNameEquals(name);
+        }
+        int length = valueEnd - valueStart;
+        return length == name.length() && json.regionMatches(valueStart, name, 0, length);
+    }
+
+    @Override
+    public int getCurrentValueInteger() {
+        return currentToken == JsonToken.VALUE_NUMBER ? NumberParser.parseInt(json, valueStart, valueEnd) : super.getCurrentValueInteger();
+    }
+
+    @Override
+    public long getCurrentValueLong() {
+        return currentToken == JsonToken.VALUE_NUMBER ? NumberParser.parseLong(json, valueStart, valueEnd) : super.getCurrentValueLong();
+    }
+
+    @Override
+    public double getCurrentValueDouble() {
+        return currentToken == JsonToken.VALUE_NUMBER ? NumberParser.parseDouble(json, valueStart, valueEnd) : super.getCurrentValueDouble();
+    }
+
+    @Override
+    public float getCurrentValueFloat() {
+        return currentToken == JsonToken.VALUE_NUMBER ? NumberParser.parseFloat(json, valueStart, valueEnd) : super.getCurrentValueFloat();
+    }
+
+    @Override
+    public String toString() {
+        return "CharJsonParser{" + "currentToken=" + currentToken + ", currentValue='" + currentValue + '\'' + ", pos=" + pos + '}';
+    }
+}
@@ -0,0 +1,68 @@
+package dev.cwby.jasonify.reader;
+
+import java.io.IOException;
+
+// Second stage over a StructuralIndex built up front. Tokens come from the same scanner as
+// Utf8JsonParser, but skipping a container or counting an array is a lookup in the index. The
+// index is an extra pass over the whole document, which only pays off when large subtrees are
+// skipped or arrays counted, so callers opt in through SerializerManager.fromJson(JsonParser, Class)
+public class IndexedJsonParser extends Utf8JsonParser {
+
+    private final StructuralIndex index;
+    // next container to open, the one the current start token opened is cursor - 1
+    private int cursor;
+    private int markCursor;
+
+    public IndexedJsonParser(byte[] json) {
+        this(json, 0, json.length);
+    }
+
+    public IndexedJsonParser(byte[] json, int offset, int length) {
+        super(json, offset, length);
+        this.index = new StructuralIndex(json, offset, offset + length);
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = super.nextToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            if (cursor >= index.size() || index.open(cursor) != tokenStart) {
+                throw new IllegalStateException("structural index out of sync at " + tokenStart);
+            }
+            cursor++;
+        }
+        return token;
+    }
+
+    @Override
+    protected void skipToContainerEnd() {
+        int container = cursor - 1;
+        super.reset(index.close(container) + 1);
+        cursor = index.following(container);
+    }
+
+    @Override
+    public int countArrayEntries() {
+        if (currentToken != JsonToken.START_ARRAY) {
+            throw new IllegalStateException("countArrayEntries() can only be called on START_ARRAY");
+        }
+        return index.count(cursor - 1);
+    }
+
+    @Override
+    protected int mark() {
+        markCursor = cursor;
+        return super.mark();
+    }
+
+    @Override
+    protected void reset(int mark) {
+        super.reset(mark);
+        cursor = markCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedJsonParser{" + "currentToken=" + currentToken + ", pos=" + pos + ", containers=" + index.size() + '}';
+    }
+}
@@ -0,0 +1,77 @@
+package dev.cwby.jasonify.reader;
+
+import dev.cwby.jasonify.serializer.IJsonDeserializer;
+import dev.cwby.jasonify.serializer.JsonEvents;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Deserializes the elements of a top level array one at a time, only the current element is held
+// in memory
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+    private final JsonParser parser;
+    private final IJsonDeserializer<T> deserializer;
+    private boolean ready;
+    private boolean done;
+
+    public JsonArrayIterator(JsonParser parser, IJsonDeserializer<T> deserializer) throws IOException {
+        this.parser = parser;
+        this.deserializer = deserializer;
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalStateException("expected a top level array but found " + parser.getCurrentToken());
+        }
+    }
+
+    // elements have to be objects or null, a null element comes out as null
+    @Override
+    public boolean hasNext() {
+        if (done) {
+            return false;
+        }
+        if (!ready) {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token != JsonToken.START_OBJECT && token != JsonToken.NULL && token != JsonToken.END_ARRAY) {
+                    throw new IllegalStateException("expected an object or null array element but found " + token);
+                }
+                done = token == JsonToken.END_ARRAY;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ready = true;
+        }
+        return !done;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        if (parser.getCurrentToken() == JsonToken.NULL) {
+            return null;
+        }
+        try {
+            return deserializer.parseJson(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            if (JsonEvents.ENABLED) {
+                JsonEvents.LISTENER.parseError(parser, e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        if (parser instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -1,27 +1,23 @@
 package dev.cwby.jasonify.reader;
 
 import dev.cwby.jasonify.SerializerManager;
+import dev.cwby.jasonify.serializer.JsonEvents;
 
 import java.io.IOException;
-import java.io.StringReader;
-import java.util.Base64;
 
-public class JsonParser {
+// Token state and the tree walking shared by every input mode, subclasses only know how to
+// tokenize their own kind of buffer
+public abstract class JsonParser {
 
     // TODO: create a specific exception for throwing
 
-    private final StringReader reader;
-    private JsonToken currentToken;
-    private String currentValue;
-    private int lookahead = -1;
-    private int pos = 0;
-    private final String json;
-
-    public JsonParser(String json) {
-        this.json = json.trim();
-        this.reader = new StringReader(this.json);
-        this.currentToken = null;
-        this.currentValue = null;
+    protected JsonToken currentToken;
+
+    // JsonParser used to be the String parser, code that called new JsonParser(json) moves to
+    // this or to new CharJsonParser(json)
+    @Deprecated
+    public static JsonParser of(String json) {
+        return new CharJsonParser(json);
     }
 
     public void skipNulltoken() throws IOException {
@@ -30,88 +26,47 @@ public class JsonParser {
         }
     }
 
-    public JsonToken nextToken() throws IOException {
-        skipWhitespace();
+    public abstract JsonToken nextToken() throws IOException;
 
-        int ch = read();
+    public abstract String getCurrentValue();
 
-        if (ch == -1) {
-            currentToken = JsonToken.END_DOCUMENT;
-            return currentToken;
-        }
+    // position of the next unread input unit, used to rewind after a look ahead
+    protected abstract int mark();
 
-        switch (ch) {
-            case '{':
-                currentToken = JsonToken.START_OBJECT;
-                break;
-            case '}':
-                currentToken = JsonToken.END_OBJECT;
-                break;
-            case '[':
-                currentToken = JsonToken.START_ARRAY;
-                break;
-            case ']':
-                currentToken = JsonToken.END_ARRAY;
-                break;
-            case ',':
-                return nextToken();
-            case ':':
-                return nextToken();
-            case '"':
-                currentValue = parseString();
-                currentToken = currentToken == JsonToken.FIELD_NAME ? JsonToken.VALUE_STRING : JsonToken.FIELD_NAME;
-                break;
-            case 'n':
-                parseLiteral("null");
-                currentToken = JsonToken.NULL;
-                break;
-            case 't':
-                parseLiteral("true");
-                currentValue = "true";
-                currentToken = JsonToken.VALUE_BOOLEAN;
-                break;
-            case 'f':
-                parseLiteral("false");
-                currentValue = "false";
-                currentToken = JsonToken.VALUE_BOOLEAN;
-                break;
-            default:
-                if (Character.isDigit(ch) || ch == '-') {
-                    currentValue = parseNumber((char) ch);
-                    currentToken = JsonToken.VALUE_NUMBER;
-                } else {
-                    throw new IllegalArgumentException("Unexpected Character: " + (char) ch);
-                }
-                break;
-        }
-        return currentToken;
-    }
+    protected abstract void reset(int mark);
 
-    public void skipOrSkipChildren(boolean debug) throws IOException {
+    // the current token is the value being skipped, scalars are already consumed
+    public void skipOrSkipChildren() throws IOException {
         JsonToken token = getCurrentToken();
         if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
-            skipChildren(debug);
-        } else {
-            nextToken();
+            skipChildren();
         }
     }
 
+    // called on the name of a field the caller does not read, stops on the last token of its value
+    public void skipField() throws IOException {
+        if (JsonEvents.ENABLED) {
+            JsonEvents.LISTENER.fieldSkipped(this);
+        }
+        nextToken();
+        skipOrSkipChildren();
+    }
+
     public int countArrayEntries() throws IOException {
         if (currentToken != JsonToken.START_ARRAY) {
-            throw new IllegalStateException("skipChildren() can only be called on START_ARRAY");
+            throw new IllegalStateException("countArrayEntries() can only be called on START_ARRAY");
         }
 
-        // TODO: reuse the json parser
-        JsonParser parser = new JsonParser(json.substring(pos));
+        int mark = mark();
         int depth = 1;
         int count = 0;
         while (depth > 0) {
-            JsonToken token = parser.nextToken();
-            if (token == null || token == JsonToken.END_DOCUMENT) {
+            JsonToken token = nextToken();
+            if (token == JsonToken.END_DOCUMENT) {
                 throw new IllegalStateException("unexpected end of json while walking");
             }
 
-            if (depth == 1 && (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY)) {
+            if (depth == 1 && token != JsonToken.END_ARRAY) {
                 count++;
             }
 
@@ -121,169 +76,128 @@ public class JsonParser {
                 depth--;
             }
         }
+
+        reset(mark);
+        currentToken = JsonToken.START_ARRAY;
         return count;
     }
 
-    public void skipChildren(boolean debug) throws IOException {
+    public void skipChildren() throws IOException {
         if (currentToken != JsonToken.START_OBJECT && currentToken != JsonToken.START_ARRAY) {
             throw new IllegalStateException("skipChildren() can only be called on START_OBJECT or START_ARRAY");
         }
 
-        StringBuilder debugBuffer = debug ? new StringBuilder("skiping: ") : null;
-        if (debug) {
-            appendToDebug(debugBuffer);
-        }
+        JsonToken endToken = currentToken == JsonToken.START_OBJECT ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+        skipToContainerEnd();
+        currentToken = endToken;
+    }
 
+    // moves past the bracket closing the container just opened. Parsers override this with a scan
+    // of their buffer for brackets and string bounds that creates no tokens, which also means the
+    // skipped part is not validated beyond its nesting
+    protected void skipToContainerEnd() throws IOException {
         int depth = 1;
         while (depth > 0) {
             JsonToken token = nextToken();
-            if (token == null || token == JsonToken.END_DOCUMENT) {
+            if (token == JsonToken.END_DOCUMENT) {
                 throw new IllegalStateException("unexpected end of json while skiping");
             }
 
-            if (debug) {
-                appendToDebug(debugBuffer);
-            }
-
             if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
                 depth++;
             } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
                 depth--;
             }
         }
-
-        if (debug) {
-            System.out.println(debugBuffer);
-        }
-    }
-
-    public void appendToDebug(StringBuilder debugBuffer) {
-        switch (getCurrentToken()) {
-            case START_OBJECT -> debugBuffer.append("{");
-            case END_OBJECT -> debugBuffer.append("}");
-            case START_ARRAY -> debugBuffer.append("[");
-            case END_ARRAY -> debugBuffer.append("]");
-            case FIELD_NAME -> debugBuffer.append('"').append(getCurrentValue()).append("\":");
-            case VALUE_STRING -> debugBuffer.append('"').append(getCurrentValue()).append("\" ");
-            case VALUE_NUMBER, VALUE_BOOLEAN -> debugBuffer.append(getCurrentValue()).append(' ');
-            case NULL -> debugBuffer.append("null");
-            case END_DOCUMENT -> debugBuffer.append("EOF");
-        }
-    }
-
-    public String parseString() throws IOException {
-        var sb = new StringBuilder();
-        int ch;
-        while ((ch = read()) != '"') {
-            if (ch == '\\') {
-                ch = read();
-                switch (ch) {
-                    case '"' -> sb.append('"');
-                    case '\\' -> sb.append('\\');
-                    case '/' -> sb.append('/');
-                    case 'b' -> sb.append('\b');
-                    case 'f' -> sb.append('\f');
-                    case 'n' -> sb.append('\n');
-                    case 'r' -> sb.append('\r');
-                    case 't' -> sb.append('\t');
-                    default -> throw new IllegalArgumentException("invalid escape sequence");
-                }
-            } else {
-                sb.append((char) ch);
-            }
-        }
-
-        return sb.toString();
-    }
-
-    public void parseLiteral(String literal) throws IOException {
-        for (int i = 1; i < literal.length(); i++) {
-            if (read() != literal.charAt(i)) {
-                throw new IllegalArgumentException("Invalid literal: expected " + literal);
-            }
-        }
-    }
-
-    public String parseNumber(char firstChar) throws IOException {
-        var sb = new StringBuilder();
-        sb.append(firstChar);
-
-        int ch;
-
-        while ((ch = read()) != -1) {
-            if (Character.isDigit(ch) || ch == '.' || ch == 'e' || ch == 'E' || ch == '+' || ch == '-') {
-                sb.append((char) ch);
-            } else {
-                pushBack(ch);
-                break;
-            }
-        }
-
-        return sb.toString();
-    }
-
-    public void skipWhitespace() throws IOException {
-        int ch;
-        while ((ch = read()) != -1) {
-            if (!Character.isWhitespace(ch)) {
-                pushBack(ch);
-                break;
-            }
-        }
     }
 
     public byte[] decodeByteArray(String strBase64) {
         return SerializerManager.BASE64_DECODER.decode(strBase64);
     }
 
-    private void pushBack(int ch) {
-        if (lookahead != -1) {
-            throw new IllegalStateException("cant push multiple characters");
-        }
-        lookahead = ch;
-    }
-
-    private int read() throws IOException {
-        if (lookahead != -1) {
-            int tmp = lookahead;
-            lookahead = -1;
-            return tmp;
-        }
-
-        pos++;
-        return reader.read();
-    }
-
     public JsonToken getCurrentToken() {
         return currentToken;
     }
 
-    public String getCurrentValue() {
-        return currentValue;
+    // same value as getCurrentValue().hashCode(), parsers compute it from their buffer when the
+    // name has no escapes
+    public int getCurrentNameHash() {
+        return getCurrentValue().hashCode();
+    }
+
+    public boolean currentNameEquals(String name) {
+        return name.equals(getCurrentValue());
     }
 
     public boolean getCurrentValueBoolean() {
-        return Boolean.parseBoolean(currentValue);
+        return Boolean.parseBoolean(getCurrentValue());
     }
 
     public int getCurrentValueInteger() {
-        return Integer.parseInt(currentValue);
+        return Integer.parseInt(getCurrentValue());
+    }
+
+    public long getCurrentValueLong() {
+        return Long.parseLong(getCurrentValue());
     }
 
     public double getCurrentValueDouble() {
-        return Double.parseDouble(currentValue);
+        return Double.parseDouble(getCurrentValue());
+    }
+
+    public float getCurrentValueFloat() {
+        return Float.parseFloat(getCurrentValue());
     }
 
     public void expectOrSkip(JsonToken expected, Runnable callback) throws IOException {
         if (getCurrentToken() != expected) {
-            skipChildren(true);
+            if (JsonEvents.ENABLED) {
+                JsonEvents.LISTENER.unexpectedToken(this, expected);
+            }
+            skipOrSkipChildren();
         } else {
             callback.run();
         }
     }
 
-    @Override
-    public String toString() {
-        return "JsonParser{" + "currentToken=" + currentToken + ", currentValue='" + currentValue + '\'' + ", lookahead=" + lookahead + ", pos=" + pos + '}';
+    // resolves the escape sequences of a raw string body, the quotes are not included. A surrogate
+    // pair written as two \\u escapes comes out as the two chars of the pair
+    protected static void unescape(CharSequence raw, int start, int end, StringBuilder sb) {
+        int i = start;
+        while (i < end) {
+            char ch = raw.charAt(i++);
+            if (ch != '\\') {
+                sb.append(ch);
+                continue;
+            }
+            if (i >= end) {
+                throw new IllegalArgumentException("unterminated string");
+            }
+            switch (raw.charAt(i++)) {
+                case '"' -> sb.append('"');
+                case '\\' -> sb.append('\\');
+                case '/' -> sb.append('/');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (i + 4 > end) {
+                        throw new IllegalArgumentException("unterminated string");
+                    }
+                    int unit = 0;
+                    for (int k = 0; k < 4; k++) {
+                        int digit = Character.digit(raw.charAt(i++), 16);
+                        if (digit < 0) {
+                            throw new IllegalArgumentException("invalid unicode escape");
+                        }
+                        unit = unit << 4 | digit;
+                    }
+                    sb.append((char) unit);
+                }
+                default -> throw new IllegalArgumentException("invalid escape sequence");
+            }
+        }
     }
 }
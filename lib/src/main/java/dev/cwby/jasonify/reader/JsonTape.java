@@ -0,0 +1,274 @@
+package dev.cwby.jasonify.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Read only tree of a document without node objects. Every token is a long on the tape with its
+// JsonToken in the top byte, nodes are tape indexes:
+// - START_OBJECT/START_ARRAY: entry count in bits 32-55, index after the matching end in 0-31,
+//   parse rejects containers with more entries than the 24 bits hold
+// - END_OBJECT/END_ARRAY: index of the matching start
+// - FIELD_NAME/VALUE_STRING/VALUE_NUMBER: two entries, the start of the span in the input and
+//   then its end, with bit 32 set when the string has escapes
+// - VALUE_BOOLEAN: 1 for true, NULL: nothing
+// Strings and numbers are only decoded when asked for, the input array is kept as is
+public final class JsonTape {
+
+    private static final JsonToken[] TOKENS = JsonToken.values();
+    private static final int TYPE_SHIFT = 56;
+    private static final long LOW_MASK = 0xFFFFFFFFL;
+    private static final long ESCAPED = 1L << 32;
+    private static final int MAX_COUNT = 0xFFFFFF;
+
+    private final byte[] buf;
+    private final long[] tape;
+
+    private JsonTape(byte[] buf, long[] tape) {
+        this.buf = buf;
+        this.tape = tape;
+    }
+
+    public static JsonTape parse(String json) {
+        return parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JsonTape parse(byte[] json) {
+        return parse(json, 0, json.length);
+    }
+
+    // reads the first value of the input, anything after it is ignored
+    public static JsonTape parse(byte[] json, int offset, int length) {
+        var parser = new Utf8JsonParser(json, offset, length);
+        long[] tape = new long[Math.max(16, length / 4)];
+        int size = 0;
+        int[] stack = new int[16];
+        int[] counts = new int[16];
+        int depth = 0;
+
+        try {
+            do {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_DOCUMENT) {
+                    throw new IllegalArgumentException("unexpected end of json");
+                }
+                if (size + 2 > tape.length) {
+                    tape = Arrays.copyOf(tape, tape.length * 2);
+                }
+                if (depth > 0 && (token == JsonToken.FIELD_NAME || (isValueStart(token) && type(tape[stack[depth - 1]]) == JsonToken.START_ARRAY))) {
+                    counts[depth - 1]++;
+                }
+
+                switch (token) {
+                    case START_OBJECT, START_ARRAY -> {
+                        if (depth == stack.length) {
+                            stack = Arrays.copyOf(stack, depth * 2);
+                            counts = Arrays.copyOf(counts, depth * 2);
+                        }
+                        stack[depth] = size;
+                        counts[depth] = 0;
+                        depth++;
+                        tape[size++] = entry(token, 0);
+                    }
+                    case END_OBJECT, END_ARRAY -> {
+                        if (depth == 0) {
+                            throw new IllegalArgumentException("unexpected " + token);
+                        }
+                        int start = stack[--depth];
+                        JsonToken startToken = type(tape[start]);
+                        if ((startToken == JsonToken.START_OBJECT) != (token == JsonToken.END_OBJECT)) {
+                            throw new IllegalArgumentException(startToken + " closed by " + token);
+                        }
+                        if (counts[depth] > MAX_COUNT) {
+                            throw new IllegalArgumentException("container with more than " + MAX_COUNT + " entries");
+                        }
+                        tape[start] = entry(startToken, (long) counts[depth] << 32 | (size + 1));
+                        tape[size++] = entry(token, start);
+                    }
+                    case FIELD_NAME, VALUE_STRING, VALUE_NUMBER -> {
+                        tape[size++] = entry(token, parser.valueStart);
+                        tape[size++] = (parser.valueEscaped && token != JsonToken.VALUE_NUMBER ? ESCAPED : 0) | parser.valueEnd;
+                    }
+                    case VALUE_BOOLEAN -> tape[size++] = entry(token, json[parser.tokenStart] == 't' ? 1 : 0);
+                    default -> tape[size++] = entry(token, 0);
+                }
+            } while (depth > 0);
+        } catch (IOException e) {
+            // a byte array parser never reads
+            throw new UncheckedIOException(e);
+        }
+
+        return new JsonTape(json, Arrays.copyOf(tape, size));
+    }
+
+    private static boolean isValueStart(JsonToken token) {
+        return token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY;
+    }
+
+    private static long entry(JsonToken token, long payload) {
+        return (long) token.ordinal() << TYPE_SHIFT | payload;
+    }
+
+    private static JsonToken type(long entry) {
+        return TOKENS[(int) (entry >>> TYPE_SHIFT)];
+    }
+
+    public int root() {
+        return 0;
+    }
+
+    // number of long entries in the tape
+    public int length() {
+        return tape.length;
+    }
+
+    public JsonToken getType(int node) {
+        return type(tape[node]);
+    }
+
+    // the node after this one and everything below it, for a field name that is its value
+    public int next(int node) {
+        long entry = tape[node];
+        return switch (type(entry)) {
+            case START_OBJECT, START_ARRAY -> (int) (entry & LOW_MASK);
+            case FIELD_NAME, VALUE_STRING, VALUE_NUMBER -> node + 2;
+            default -> node + 1;
+        };
+    }
+
+    // fields of an object or elements of an array
+    public int size(int container) {
+        checkContainer(container);
+        return (int) ((tape[container] >>> 32) & MAX_COUNT);
+    }
+
+    // first element of an array or first field name of an object, -1 when empty
+    public int first(int container) {
+        checkContainer(container);
+        JsonToken type = type(tape[container + 1]);
+        return type == JsonToken.END_OBJECT || type == JsonToken.END_ARRAY ? -1 : container + 1;
+    }
+
+    // the element or field name after this one in the same container, -1 after the last
+    public int nextSibling(int node) {
+        int next = next(node);
+        if (type(tape[node]) == JsonToken.FIELD_NAME) {
+            next = next(next);
+        }
+        JsonToken type = type(tape[next]);
+        return type == JsonToken.END_OBJECT || type == JsonToken.END_ARRAY ? -1 : next;
+    }
+
+    // value of the field with this name, -1 when the object has none
+    public int field(int object, String name) {
+        if (getType(object) != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("not an object: " + getType(object));
+        }
+        for (int node = first(object); node >= 0; node = nextSibling(node)) {
+            if (nameEquals(node, name)) {
+                return node + 2;
+            }
+        }
+        return -1;
+    }
+
+    // element at index of an array, -1 when out of range
+    public int element(int array, int index) {
+        if (getType(array) != JsonToken.START_ARRAY) {
+            throw new IllegalStateException("not an array: " + getType(array));
+        }
+        int node = index >= 0 ? first(array) : -1;
+        for (int i = 0; i < index && node >= 0; i++) {
+            node = nextSibling(node);
+        }
+        return node;
+    }
+
+    // compares ascii names byte to char, anything else is decoded first
+    public boolean nameEquals(int node, String name) {
+        checkSpan(node);
+        if ((tape[node + 1] & ESCAPED) != 0) {
+            return name.equals(getString(node));
+        }
+        int start = spanStart(node);
+        int length = spanEnd(node) - start;
+        if (length != name.length()) {
+            return length > name.length() && name.equals(getString(node));
+        }
+        for (int i = 0; i < length; i++) {
+            int b = buf[start + i];
+            char c = name.charAt(i);
+            if (b != c) {
+                return (b < 0 || c >= 0x80) && name.equals(getString(node));
+            }
+        }
+        return true;
+    }
+
+    public String getString(int node) {
+        checkSpan(node);
+        int start = spanStart(node);
+        String raw = new String(buf, start, spanEnd(node) - start, StandardCharsets.UTF_8);
+        if ((tape[node + 1] & ESCAPED) == 0) {
+            return raw;
+        }
+        var sb = new StringBuilder(raw.length());
+        JsonParser.unescape(raw, 0, raw.length(), sb);
+        return sb.toString();
+    }
+
+    public int getInt(int node) {
+        checkNumber(node);
+        return NumberParser.parseInt(buf, spanStart(node), spanEnd(node));
+    }
+
+    public long getLong(int node) {
+        checkNumber(node);
+        return NumberParser.parseLong(buf, spanStart(node), spanEnd(node));
+    }
+
+    public double getDouble(int node) {
+        checkNumber(node);
+        return NumberParser.parseDouble(buf, spanStart(node), spanEnd(node));
+    }
+
+    public boolean getBoolean(int node) {
+        if (getType(node) != JsonToken.VALUE_BOOLEAN) {
+            throw new IllegalStateException("not a boolean: " + getType(node));
+        }
+        return (tape[node] & 1) != 0;
+    }
+
+    public boolean isNull(int node) {
+        return getType(node) == JsonToken.NULL;
+    }
+
+    private int spanStart(int node) {
+        return (int) (tape[node] & LOW_MASK);
+    }
+
+    private int spanEnd(int node) {
+        return (int) (tape[node + 1] & LOW_MASK);
+    }
+
+    private void checkContainer(int node) {
+        JsonToken type = getType(node);
+        if (type != JsonToken.START_OBJECT && type != JsonToken.START_ARRAY) {
+            throw new IllegalStateException("not a container: " + type);
+        }
+    }
+
+    private void checkSpan(int node) {
+        JsonToken type = getType(node);
+        if (type != JsonToken.FIELD_NAME && type != JsonToken.VALUE_STRING) {
+            throw new IllegalStateException("not a string: " + type);
+        }
+    }
+
+    private void checkNumber(int node) {
+        if (getType(node) != JsonToken.VALUE_NUMBER) {
+            throw new IllegalStateException("not a number: " + getType(node));
+        }
+    }
+}
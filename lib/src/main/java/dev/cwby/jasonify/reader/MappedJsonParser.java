@@ -0,0 +1,56 @@
+package dev.cwby.jasonify.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Parses a file through read only mappings of it. The tokenizer works on a heap array, so each
+// byte is still copied once from the mapping into the parse window, what the mapping saves is the
+// read() calls and the kernel side copy. Files over 2GB are mapped one region at a time
+public class MappedJsonParser extends Utf8StreamJsonParser implements Closeable {
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final long REGION_SIZE = 1L << 30;
+
+    private final FileChannel fileChannel;
+    private final long size;
+    private long regionStart;
+    private MappedByteBuffer region;
+
+    public MappedJsonParser(Path path) throws IOException {
+        this(path, DEFAULT_CAPACITY);
+    }
+
+    public MappedJsonParser(Path path, int capacity) throws IOException {
+        super(capacity);
+        this.fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = fileChannel.size();
+        this.regionStart = 0;
+    }
+
+    @Override
+    protected int read(int offset, int length) throws IOException {
+        if (region == null || !region.hasRemaining()) {
+            if (region != null) {
+                regionStart += region.capacity();
+            }
+            if (regionStart >= size) {
+                return -1;
+            }
+            region = fileChannel.map(FileChannel.MapMode.READ_ONLY, regionStart, Math.min(REGION_SIZE, size - regionStart));
+        }
+
+        // the one copy, from the mapped pages into the window
+        int count = Math.min(length, region.remaining());
+        region.get(buf, offset, count);
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        region = null;
+        fileChannel.close();
+    }
+}
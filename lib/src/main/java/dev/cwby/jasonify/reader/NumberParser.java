@@ -0,0 +1,367 @@
+package dev.cwby.jasonify.reader;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+// Parses numbers straight from the parser buffers. Doubles take the Clinger fast path when the
+// mantissa and exponent are exact in a double, then Eisel-Lemire, and fall back to
+// Double.parseDouble only for inputs neither can decide (over 19 significant digits, halfway cases)
+final class NumberParser {
+
+    private static final int MIN_EXP10 = -348;
+    private static final int MAX_EXP10 = 347;
+    // 128 bit mantissas of the powers of ten rounded down, high and low halves
+    private static final long[] POW10_HI = new long[MAX_EXP10 - MIN_EXP10 + 1];
+    private static final long[] POW10_LO = new long[MAX_EXP10 - MIN_EXP10 + 1];
+    private static final double[] EXACT_POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    static {
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int exp10 = MIN_EXP10; exp10 <= MAX_EXP10; exp10++) {
+            BigInteger mantissa;
+            if (exp10 >= 0) {
+                BigInteger value = BigInteger.TEN.pow(exp10);
+                int bits = value.bitLength();
+                mantissa = bits > 128 ? value.shiftRight(bits - 128) : value.shiftLeft(128 - bits);
+            } else {
+                BigInteger divisor = BigInteger.TEN.pow(-exp10);
+                mantissa = BigInteger.ONE.shiftLeft(divisor.bitLength() + 127).divide(divisor);
+            }
+            POW10_HI[exp10 - MIN_EXP10] = mantissa.shiftRight(64).longValue();
+            POW10_LO[exp10 - MIN_EXP10] = mantissa.and(mask).longValue();
+        }
+    }
+
+    private NumberParser() {
+    }
+
+    static int parseInt(byte[] buf, int start, int end) {
+        long value = parseLong(buf, start, end);
+        if (value != (int) value) {
+            throw invalid(new String(buf, start, end - start, StandardCharsets.ISO_8859_1));
+        }
+        return (int) value;
+    }
+
+    static int parseInt(String json, int start, int end) {
+        long value = parseLong(json, start, end);
+        if (value != (int) value) {
+            throw invalid(json.substring(start, end));
+        }
+        return (int) value;
+    }
+
+    static long parseLong(byte[] buf, int start, int end) {
+        int i = start;
+        boolean negative = buf[i] == '-';
+        if (negative) {
+            i++;
+        }
+        // up to 18 digits cannot overflow, longer inputs are left to the JDK
+        if (i == end || end - i > 18) {
+            return Long.parseLong(new String(buf, start, end - start, StandardCharsets.ISO_8859_1));
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid(new String(buf, start, end - start, StandardCharsets.ISO_8859_1));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    static long parseLong(String json, int start, int end) {
+        int i = start;
+        boolean negative = json.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == end || end - i > 18) {
+            return Long.parseLong(json, start, end, 10);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = json.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid(json.substring(start, end));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    static double parseDouble(byte[] buf, int start, int end) {
+        int i = start;
+        boolean negative = buf[i] == '-';
+        if (negative) {
+            i++;
+        }
+
+        long mantissa = 0;
+        int significant = 0;
+        int exp10 = 0;
+        boolean truncated = false;
+
+        int digitsStart = i;
+        for (; i < end; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            if (significant < 19) {
+                mantissa = mantissa * 10 + digit;
+                if (mantissa != 0) {
+                    significant++;
+                }
+            } else {
+                truncated |= digit != 0;
+                exp10++;
+            }
+        }
+        boolean valid = i > digitsStart;
+
+        if (i < end && buf[i] == '.') {
+            i++;
+            int fractionStart = i;
+            for (; i < end; i++) {
+                int digit = buf[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                if (significant < 19) {
+                    mantissa = mantissa * 10 + digit;
+                    if (mantissa != 0) {
+                        significant++;
+                    }
+                    exp10--;
+                } else {
+                    truncated |= digit != 0;
+                }
+            }
+            valid &= i > fractionStart;
+        }
+
+        if (i < end && (buf[i] == 'e' || buf[i] == 'E')) {
+            i++;
+            boolean negativeExp = false;
+            if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+                negativeExp = buf[i] == '-';
+                i++;
+            }
+            int expStart = i;
+            int exp = 0;
+            for (; i < end; i++) {
+                int digit = buf[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                if (exp < 100_000) {
+                    exp = exp * 10 + digit;
+                }
+            }
+            valid &= i > expStart;
+            exp10 += negativeExp ? -exp : exp;
+        }
+
+        if (!valid || i != end) {
+            throw invalid(new String(buf, start, end - start, StandardCharsets.ISO_8859_1));
+        }
+        if (!truncated) {
+            double value = toDouble(mantissa, exp10, negative);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return Double.parseDouble(new String(buf, start, end - start, StandardCharsets.ISO_8859_1));
+    }
+
+    static double parseDouble(String json, int start, int end) {
+        int i = start;
+        boolean negative = json.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+
+        long mantissa = 0;
+        int significant = 0;
+        int exp10 = 0;
+        boolean truncated = false;
+
+        int digitsStart = i;
+        for (; i < end; i++) {
+            int digit = json.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            if (significant < 19) {
+                mantissa = mantissa * 10 + digit;
+                if (mantissa != 0) {
+                    significant++;
+                }
+            } else {
+                truncated |= digit != 0;
+                exp10++;
+            }
+        }
+        boolean valid = i > digitsStart;
+
+        if (i < end && json.charAt(i) == '.') {
+            i++;
+            int fractionStart = i;
+            for (; i < end; i++) {
+                int digit = json.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                if (significant < 19) {
+                    mantissa = mantissa * 10 + digit;
+                    if (mantissa != 0) {
+                        significant++;
+                    }
+                    exp10--;
+                } else {
+                    truncated |= digit != 0;
+                }
+            }
+            valid &= i > fractionStart;
+        }
+
+        if (i < end && (json.charAt(i) == 'e' || json.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExp = false;
+            if (i < end && (json.charAt(i) == '-' || json.charAt(i) == '+')) {
+                negativeExp = json.charAt(i) == '-';
+                i++;
+            }
+            int expStart = i;
+            int exp = 0;
+            for (; i < end; i++) {
+                int digit = json.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                if (exp < 100_000) {
+                    exp = exp * 10 + digit;
+                }
+            }
+            valid &= i > expStart;
+            exp10 += negativeExp ? -exp : exp;
+        }
+
+        if (!valid || i != end) {
+            throw invalid(json.substring(start, end));
+        }
+        if (!truncated) {
+            double value = toDouble(mantissa, exp10, negative);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return Double.parseDouble(json.substring(start, end));
+    }
+
+    static float parseFloat(byte[] buf, int start, int end) {
+        float value = narrow(parseDouble(buf, start, end));
+        return Float.isNaN(value) ? Float.parseFloat(new String(buf, start, end - start, StandardCharsets.ISO_8859_1)) : value;
+    }
+
+    static float parseFloat(String json, int start, int end) {
+        float value = narrow(parseDouble(json, start, end));
+        return Float.isNaN(value) ? Float.parseFloat(json.substring(start, end)) : value;
+    }
+
+    // rounding the correctly rounded double again is only wrong when the double landed exactly on
+    // the midpoint of two floats, those and overflows go back to the JDK
+    private static float narrow(double value) {
+        float narrowed = (float) value;
+        if (narrowed == value) {
+            return narrowed;
+        }
+        if (Float.isInfinite(narrowed)) {
+            return Float.NaN;
+        }
+        double neighbour = value > narrowed ? Math.nextUp(narrowed) : Math.nextDown(narrowed);
+        return value == ((double) narrowed + neighbour) / 2 ? Float.NaN : narrowed;
+    }
+
+    // NaN means the fast paths could not decide and the caller has to fall back
+    private static double toDouble(long mantissa, int exp10, boolean negative) {
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (mantissa >= 0 && mantissa <= 1L << 53 && exp10 >= -22 && exp10 <= 22) {
+            double value = mantissa;
+            value = exp10 < 0 ? value / EXACT_POW10[-exp10] : value * EXACT_POW10[exp10];
+            return negative ? -value : value;
+        }
+        return eiselLemire(mantissa, exp10, negative);
+    }
+
+    // mantissa is unsigned and not zero
+    private static double eiselLemire(long mantissa, int exp10, boolean negative) {
+        if (exp10 < MIN_EXP10 || exp10 > MAX_EXP10) {
+            return Double.NaN;
+        }
+
+        int clz = Long.numberOfLeadingZeros(mantissa);
+        mantissa <<= clz;
+        long retExp2 = ((217706L * exp10) >> 16) + 64 + 1023 - clz;
+
+        long powHi = POW10_HI[exp10 - MIN_EXP10];
+        long xHi = Math.unsignedMultiplyHigh(mantissa, powHi);
+        long xLo = mantissa * powHi;
+
+        // the truncated power is not precise enough, widen with its low half
+        if ((xHi & 0x1FF) == 0x1FF && Long.compareUnsigned(xLo + mantissa, mantissa) < 0) {
+            long powLo = POW10_LO[exp10 - MIN_EXP10];
+            long yHi = Math.unsignedMultiplyHigh(mantissa, powLo);
+            long yLo = mantissa * powLo;
+            long mergedHi = xHi;
+            long mergedLo = xLo + yHi;
+            if (Long.compareUnsigned(mergedLo, xLo) < 0) {
+                mergedHi++;
+            }
+            if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + mantissa, mantissa) < 0) {
+                return Double.NaN;
+            }
+            xHi = mergedHi;
+            xLo = mergedLo;
+        }
+
+        long msb = xHi >>> 63;
+        long retMantissa = xHi >>> (msb + 9);
+        retExp2 -= 1 ^ msb;
+
+        // exactly halfway between two doubles
+        if (xLo == 0 && (xHi & 0x1FF) == 0 && (retMantissa & 3) == 1) {
+            return Double.NaN;
+        }
+
+        retMantissa += retMantissa & 1;
+        retMantissa >>>= 1;
+        if (retMantissa >>> 53 > 0) {
+            retMantissa >>>= 1;
+            retExp2 += 1;
+        }
+
+        // subnormals and infinities are left to the fallback
+        if (Long.compareUnsigned(retExp2 - 1, 0x7FF - 1) >= 0) {
+            return Double.NaN;
+        }
+
+        long bits = retExp2 << 52 | retMantissa & 0x000FFFFFFFFFFFFFL;
+        if (negative) {
+            bits |= 0x8000000000000000L;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static NumberFormatException invalid(String number) {
+        return new NumberFormatException("For input string: \"" + number + "\"");
+    }
+}
@@ -0,0 +1,142 @@
+package dev.cwby.jasonify.reader;
+
+import java.util.Arrays;
+
+// First stage of IndexedJsonParser. One pass over the document, eight bytes at a time, records
+// every container with where it closes and how many entries it holds, so the parser can jump
+// over a container or count an array without reading it again
+final class StructuralIndex {
+
+    private static final long COMMAS = Swar.repeat(',');
+
+    // containers in the order they open
+    private int[] opens = new int[64];
+    private int[] closes = new int[64];
+    private int[] counts = new int[64];
+    // first container opening after this one closes
+    private int[] following = new int[64];
+    private int size;
+
+    // containers still open and the commas seen directly inside them
+    private int[] stack = new int[16];
+    private int[] commas = new int[16];
+    private int depth;
+
+    StructuralIndex(byte[] buf, int from, int to) {
+        boolean inString = false;
+        // first byte that is not escaped
+        int resume = from;
+        int i = from;
+        for (; i + 8 <= to; i += 8) {
+            long word = Swar.read(buf, i);
+            long folded = word | Swar.BRACKET_FOLD;
+            long mask = Swar.matches(word, Swar.QUOTES) | Swar.matches(word, Swar.BACKSLASHES) | Swar.matches(word, COMMAS)
+                    | Swar.matches(folded, Swar.OPEN_BRACKETS) | Swar.matches(folded, Swar.CLOSE_BRACKETS);
+            while (mask != 0) {
+                int p = i + Swar.firstIndex(mask);
+                mask &= mask - 1;
+                if (p >= resume) {
+                    inString = visit(buf, p, inString);
+                    if (inString && buf[p] == '\\') {
+                        resume = p + 2;
+                    }
+                }
+            }
+        }
+        for (; i < to; i++) {
+            if (i >= resume) {
+                inString = visit(buf, i, inString);
+                if (inString && buf[i] == '\\') {
+                    resume = i + 2;
+                }
+            }
+        }
+        if (inString) {
+            throw new IllegalArgumentException("unterminated string");
+        }
+        if (depth != 0) {
+            throw new IllegalArgumentException("unbalanced json, " + depth + " containers are not closed");
+        }
+    }
+
+    // returns whether the byte after p is inside a string
+    private boolean visit(byte[] buf, int p, boolean inString) {
+        byte ch = buf[p];
+        if (inString) {
+            return ch != '"';
+        }
+        switch (ch) {
+            case '"' -> {
+                return true;
+            }
+            case '{', '[' -> push(p);
+            case '}', ']' -> pop(buf, p);
+            case ',' -> {
+                if (depth > 0) {
+                    commas[depth - 1]++;
+                }
+            }
+            default -> {
+            }
+        }
+        return false;
+    }
+
+    private void push(int p) {
+        if (size == opens.length) {
+            int capacity = size * 2;
+            opens = Arrays.copyOf(opens, capacity);
+            closes = Arrays.copyOf(closes, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            following = Arrays.copyOf(following, capacity);
+        }
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+            commas = Arrays.copyOf(commas, depth * 2);
+        }
+        opens[size] = p;
+        stack[depth] = size;
+        commas[depth] = 0;
+        depth++;
+        size++;
+    }
+
+    private void pop(byte[] buf, int p) {
+        if (depth == 0) {
+            throw new IllegalArgumentException("unbalanced json, unexpected " + (char) buf[p] + " at " + p);
+        }
+        int container = stack[--depth];
+        int open = opens[container];
+        if ((buf[open] ^ buf[p]) != ('[' ^ ']')) {
+            throw new IllegalArgumentException("unbalanced json, " + (char) buf[open] + " at " + open + " closed by " + (char) buf[p] + " at " + p);
+        }
+        // a container with only whitespace inside has no entries, otherwise one more than its commas
+        int last = p - 1;
+        while (last > open && (buf[last] == ' ' || buf[last] == '\n' || buf[last] == '\r' || buf[last] == '\t')) {
+            last--;
+        }
+        closes[container] = p;
+        counts[container] = last == open ? 0 : commas[depth] + 1;
+        following[container] = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int open(int container) {
+        return opens[container];
+    }
+
+    int close(int container) {
+        return closes[container];
+    }
+
+    int count(int container) {
+        return counts[container];
+    }
+
+    int following(int container) {
+        return following[container];
+    }
+}
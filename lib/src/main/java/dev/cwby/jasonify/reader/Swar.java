@@ -0,0 +1,44 @@
+package dev.cwby.jasonify.reader;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+// Eight bytes at a time in a long. Words are read little endian so the first byte of the input
+// is the lowest byte of the word
+final class Swar {
+
+    static final long QUOTES = repeat('"');
+    static final long BACKSLASHES = repeat('\\');
+    // '[' and ']' only differ from '{' and '}' in bit 0x20, so a word or'ed with BRACKET_FOLD finds
+    // both kinds of an opening or closing bracket in one compare
+    static final long BRACKET_FOLD = repeat((char) 0x20);
+    static final long OPEN_BRACKETS = repeat('{');
+    static final long CLOSE_BRACKETS = repeat('}');
+
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private Swar() {
+    }
+
+    static long repeat(char c) {
+        return 0x0101010101010101L * c;
+    }
+
+    static long read(byte[] buf, int offset) {
+        return (long) LONG_VIEW.get(buf, offset);
+    }
+
+    // high bit set in every byte of word equal to the matching byte of pattern, exact so bits
+    // after the first match can be used too
+    static long matches(long word, long pattern) {
+        long x = word ^ pattern;
+        return ~(((x & LOW_BITS) + LOW_BITS) | x | LOW_BITS);
+    }
+
+    // offset of the first byte flagged in a matches mask, the mask must not be zero
+    static int firstIndex(long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+}
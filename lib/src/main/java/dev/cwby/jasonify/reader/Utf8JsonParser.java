@@ -0,0 +1,396 @@
+package dev.cwby.jasonify.reader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Tokenizes UTF-8 bytes in place, values are kept as spans of the buffer and only decoded into a
+// String when getCurrentValue() asks for it
+public class Utf8JsonParser extends JsonParser {
+
+    protected byte[] buf;
+    protected int pos;
+    protected int end;
+
+    // first byte of the token being scanned, a refill must not discard it
+    protected int tokenStart;
+    protected int valueStart;
+    protected int valueEnd;
+    protected boolean valueEscaped;
+    private String currentValue;
+    private StringBuilder stringBuffer;
+
+    public Utf8JsonParser(byte[] json) {
+        this(json, 0, json.length);
+    }
+
+    public Utf8JsonParser(byte[] json, int offset, int length) {
+        this.buf = json;
+        this.pos = offset;
+        this.end = offset + length;
+        this.currentToken = null;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        int ch = nextNonSeparator();
+        currentValue = null;
+
+        if (ch == -1) {
+            currentToken = JsonToken.END_DOCUMENT;
+            return currentToken;
+        }
+
+        switch (ch) {
+            case '{':
+                currentToken = JsonToken.START_OBJECT;
+                break;
+            case '}':
+                currentToken = JsonToken.END_OBJECT;
+                break;
+            case '[':
+                currentToken = JsonToken.START_ARRAY;
+                break;
+            case ']':
+                currentToken = JsonToken.END_ARRAY;
+                break;
+            case '"':
+                scanString();
+                currentToken = consumeNameSeparator() ? JsonToken.FIELD_NAME : JsonToken.VALUE_STRING;
+                break;
+            case 'n':
+                parseLiteral("null");
+                currentToken = JsonToken.NULL;
+                break;
+            case 't':
+                parseLiteral("true");
+                currentValue = "true";
+                currentToken = JsonToken.VALUE_BOOLEAN;
+                break;
+            case 'f':
+                parseLiteral("false");
+                currentValue = "false";
+                currentToken = JsonToken.VALUE_BOOLEAN;
+                break;
+            default:
+                if ((ch >= '0' && ch <= '9') || ch == '-') {
+                    scanNumber();
+                    currentToken = JsonToken.VALUE_NUMBER;
+                } else {
+                    throw new IllegalArgumentException("Unexpected Character: " + (char) ch + " at " + (pos - 1));
+                }
+                break;
+        }
+        return currentToken;
+    }
+
+    @Override
+    protected int mark() {
+        return pos;
+    }
+
+    @Override
+    protected void reset(int mark) {
+        pos = mark;
+        currentValue = null;
+    }
+
+    // called when a scan reaches the end of the buffer, parsers reading from a source refill it
+    // here keeping every byte from tokenStart on and shifting the positions accordingly
+    protected boolean loadMore() throws IOException {
+        return false;
+    }
+
+    // returns the first byte that is not whitespace or a value separator, consuming it
+    private int nextNonSeparator() throws IOException {
+        while (true) {
+            final byte[] buf = this.buf;
+            final int end = this.end;
+            int i = pos;
+            while (i < end) {
+                byte ch = buf[i++];
+                if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t' && ch != ',' && ch != ':') {
+                    pos = i;
+                    tokenStart = i - 1;
+                    return ch & 0xFF;
+                }
+            }
+            pos = i;
+            tokenStart = i;
+            if (!loadMore()) {
+                return -1;
+            }
+        }
+    }
+
+    private boolean consumeNameSeparator() throws IOException {
+        while (true) {
+            final byte[] buf = this.buf;
+            final int end = this.end;
+            int i = pos;
+            for (; i < end; i++) {
+                byte ch = buf[i];
+                if (ch == ':') {
+                    pos = i + 1;
+                    return true;
+                }
+                if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t') {
+                    pos = i;
+                    return false;
+                }
+            }
+            pos = i;
+            if (!loadMore()) {
+                return false;
+            }
+        }
+    }
+
+    // multi-byte UTF-8 sequences never contain '"' or '\\', so the closing quote can be found
+    // without decoding, eight bytes at a time until a quote or backslash shows up
+    private void scanString() throws IOException {
+        byte[] buf = this.buf;
+        int end = this.end;
+        boolean escaped = false;
+        int i = pos;
+        while (true) {
+            while (i + 8 <= end) {
+                long word = Swar.read(buf, i);
+                long mask = Swar.matches(word, Swar.QUOTES) | Swar.matches(word, Swar.BACKSLASHES);
+                if (mask != 0) {
+                    i += Swar.firstIndex(mask);
+                    break;
+                }
+                i += 8;
+            }
+            if (i >= end) {
+                int scanned = i - pos;
+                if (!loadMore()) {
+                    throw new IllegalArgumentException("unterminated string");
+                }
+                buf = this.buf;
+                end = this.end;
+                i = pos + scanned;
+                continue;
+            }
+            byte ch = buf[i];
+            if (ch == '"') {
+                break;
+            }
+            if (ch == '\\') {
+                escaped = true;
+                i++;
+            }
+            i++;
+        }
+        valueStart = tokenStart + 1;
+        valueEnd = i;
+        valueEscaped = escaped;
+        pos = i + 1;
+    }
+
+    // walks the buffer eight bytes at a time looking only for quotes and brackets outside strings
+    // and for quotes and backslashes inside them
+    @Override
+    protected void skipToContainerEnd() throws IOException {
+        currentValue = null;
+        int depth = 1;
+        boolean inString = false;
+        int i = pos;
+        while (true) {
+            final byte[] buf = this.buf;
+            final int end = this.end;
+            while (i < end) {
+                if (inString) {
+                    while (i + 8 <= end) {
+                        long word = Swar.read(buf, i);
+                        long mask = Swar.matches(word, Swar.QUOTES) | Swar.matches(word, Swar.BACKSLASHES);
+                        if (mask != 0) {
+                            i += Swar.firstIndex(mask);
+                            break;
+                        }
+                        i += 8;
+                    }
+                    if (i >= end) {
+                        break;
+                    }
+                    byte ch = buf[i];
+                    inString = ch != '"';
+                    // an escape may end past the buffer, the rest is skipped after the refill
+                    i += ch == '\\' ? 2 : 1;
+                } else {
+                    while (i + 8 <= end) {
+                        long word = Swar.read(buf, i);
+                        long folded = word | Swar.BRACKET_FOLD;
+                        long mask = Swar.matches(word, Swar.QUOTES) | Swar.matches(folded, Swar.OPEN_BRACKETS) | Swar.matches(folded, Swar.CLOSE_BRACKETS);
+                        if (mask != 0) {
+                            i += Swar.firstIndex(mask);
+                            break;
+                        }
+                        i += 8;
+                    }
+                    if (i >= end) {
+                        break;
+                    }
+                    byte ch = buf[i++];
+                    if (ch == '"') {
+                        inString = true;
+                    } else if (ch == '{' || ch == '[') {
+                        depth++;
+                    } else if ((ch == '}' || ch == ']') && --depth == 0) {
+                        pos = i;
+                        return;
+                    }
+                }
+            }
+
+            // nothing scanned so far has to survive a refill
+            int carry = i - end;
+            pos = end;
+            tokenStart = end;
+            if (!loadMore()) {
+                throw new IllegalStateException("unexpected end of json while skiping");
+            }
+            i = pos + carry;
+        }
+    }
+
+    private void scanNumber() throws IOException {
+        byte[] buf = this.buf;
+        int end = this.end;
+        int i = pos;
+        while (true) {
+            if (i >= end) {
+                int scanned = i - pos;
+                if (!loadMore()) {
+                    break;
+                }
+                buf = this.buf;
+                end = this.end;
+                i = pos + scanned;
+                continue;
+            }
+            byte ch = buf[i];
+            if ((ch >= '0' && ch <= '9') || ch == '.' || ch == 'e' || ch == 'E' || ch == '+' || ch == '-') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        valueStart = tokenStart;
+        valueEnd = i;
+        pos = i;
+    }
+
+    private void parseLiteral(String literal) throws IOException {
+        int length = literal.length();
+        while (tokenStart + length > end) {
+            if (!loadMore()) {
+                throw new IllegalArgumentException("Invalid literal: expected " + literal);
+            }
+        }
+        for (int i = 1; i < length; i++) {
+            if (buf[tokenStart + i] != literal.charAt(i)) {
+                throw new IllegalArgumentException("Invalid literal: expected " + literal);
+            }
+        }
+        pos = tokenStart + length;
+    }
+
+    @Override
+    public String getCurrentValue() {
+        if (currentValue != null) {
+            return currentValue;
+        }
+
+        switch (currentToken) {
+            case FIELD_NAME, VALUE_STRING -> {
+                String raw = new String(buf, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+                if (valueEscaped) {
+                    var sb = stringBuffer == null ? stringBuffer = new StringBuilder() : stringBuffer;
+                    sb.setLength(0);
+                    unescape(raw, 0, raw.length(), sb);
+                    raw = sb.toString();
+                }
+                currentValue = raw;
+            }
+            case VALUE_NUMBER -> currentValue = new String(buf, valueStart, valueEnd - valueStart, StandardCharsets.ISO_8859_1);
+            default -> {
+                return null;
+            }
+        }
+        return currentValue;
+    }
+
+    @Override
+    public int getCurrentNameHash() {
+        if (valueEscaped || currentValue != null) {
+            return super.getCurrentNameHash();
+        }
+        final byte[] buf = this.buf;
+        int hash = 0;
+        for (int i = valueStart; i < valueEnd; i++) {
+            byte b = buf[i];
+            if (b < 0) {
+                return super.getCurrentNameHash();
+            }
+            hash = 31 * hash + b;
+        }
+        return hash;
+    }
+
+    // ascii names compare byte to char, anything else is decoded first
+    @Override
+    public boolean currentNameEquals(String name) {
+        if (valueEscaped) {
+            return super.currentNameEquals(name);
+        }
+        int length = valueEnd - valueStart;
+        if (length != name.length()) {
+            // UTF-8 never takes fewer bytes than chars, so a longer span can only match a non ascii name
+            return length > name.length() && !isAscii(name) && super.currentNameEquals(name);
+        }
+        final byte[] buf = this.buf;
+        for (int i = 0; i < length; i++) {
+            int b = buf[valueStart + i];
+            char c = name.charAt(i);
+            if (b != c) {
+                return (b < 0 || c >= 0x80) && super.currentNameEquals(name);
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getCurrentValueInteger() {
+        return currentToken == JsonToken.VALUE_NUMBER ? NumberParser.parseInt(buf, valueStart, valueEnd) : super.getCurrentValueInteger();
+    }
+
+    @Override
+    public long getCurrentValueLong() {
+        return currentToken == JsonToken.VALUE_NUMBER ? NumberParser.parseLong(buf, valueStart, valueEnd) : super.getCurrentValueLong();
+    }
+
+    @Override
+    public double getCurrentValueDouble() {
+        return currentToken == JsonToken.VALUE_NUMBER ? NumberParser.parseDouble(buf, valueStart, valueEnd) : super.getCurrentValueDouble();
+    }
+
+    @Override
+    public float getCurrentValueFloat() {
+        return currentToken == JsonToken.VALUE_NUMBER ? NumberParser.parseFloat(buf, valueStart, valueEnd) : super.getCurrentValueFloat();
+    }
+
+    @Override
+    public String toString() {
+        return "Utf8JsonParser{" + "currentToken=" + currentToken + ", pos=" + pos + '}';
+    }
+}
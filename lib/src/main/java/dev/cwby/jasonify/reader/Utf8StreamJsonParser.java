@@ -0,0 +1,116 @@
+package dev.cwby.jasonify.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+// Reads UTF-8 from a stream or channel through a refillable buffer. The buffer only grows when a
+// single token (or a pending countArrayEntries look ahead) does not fit in it
+public class Utf8StreamJsonParser extends Utf8JsonParser {
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private final InputStream inputStream;
+    private final ReadableByteChannel channel;
+    private ByteBuffer channelBuffer;
+    private int markPos = -1;
+    private boolean eof;
+
+    public Utf8StreamJsonParser(InputStream inputStream) {
+        this(inputStream, DEFAULT_CAPACITY);
+    }
+
+    public Utf8StreamJsonParser(InputStream inputStream, int capacity) {
+        super(new byte[Math.max(capacity, 16)], 0, 0);
+        this.inputStream = inputStream;
+        this.channel = null;
+    }
+
+    // for subclasses that override read
+    protected Utf8StreamJsonParser(int capacity) {
+        super(new byte[Math.max(capacity, 16)], 0, 0);
+        this.inputStream = null;
+        this.channel = null;
+    }
+
+    public Utf8StreamJsonParser(ReadableByteChannel channel) {
+        this(channel, DEFAULT_CAPACITY);
+    }
+
+    public Utf8StreamJsonParser(ReadableByteChannel channel, int capacity) {
+        super(new byte[Math.max(capacity, 16)], 0, 0);
+        this.inputStream = null;
+        this.channel = channel;
+        this.channelBuffer = ByteBuffer.wrap(buf);
+    }
+
+    @Override
+    protected boolean loadMore() throws IOException {
+        if (eof) {
+            return false;
+        }
+
+        int keep = markPos >= 0 ? Math.min(markPos, tokenStart) : tokenStart;
+        if (keep > 0) {
+            System.arraycopy(buf, keep, buf, 0, end - keep);
+            shift(keep);
+        }
+        if (end == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+            if (channel != null) {
+                channelBuffer = ByteBuffer.wrap(buf);
+            }
+        }
+
+        int read;
+        do {
+            read = read(end, buf.length - end);
+        } while (read == 0);
+
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        end += read;
+        return true;
+    }
+
+    // fills buf from offset, returns -1 at the end of the input
+    protected int read(int offset, int length) throws IOException {
+        if (inputStream != null) {
+            return inputStream.read(buf, offset, length);
+        }
+        channelBuffer.limit(offset + length).position(offset);
+        return channel.read(channelBuffer);
+    }
+
+    private void shift(int count) {
+        pos -= count;
+        end -= count;
+        tokenStart -= count;
+        valueStart -= count;
+        valueEnd -= count;
+        if (markPos >= 0) {
+            markPos -= count;
+        }
+    }
+
+    // positions move on every refill, so the look ahead start is tracked here instead
+    @Override
+    protected int mark() {
+        markPos = pos;
+        return pos;
+    }
+
+    @Override
+    protected void reset(int mark) {
+        super.reset(markPos);
+        markPos = -1;
+    }
+
+    @Override
+    public String toString() {
+        return "Utf8StreamJsonParser{" + "currentToken=" + currentToken + ", buffered=" + (end - pos) + ", eof=" + eof + '}';
+    }
+}
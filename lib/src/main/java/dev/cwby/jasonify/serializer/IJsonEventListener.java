@@ -0,0 +1,24 @@
+package dev.cwby.jasonify.serializer;
+
+import dev.cwby.jasonify.reader.JsonParser;
+import dev.cwby.jasonify.reader.JsonToken;
+
+// Instrumentation hooks found through META-INF/services, see JsonEvents. They run on the thread
+// doing the work and get the live parser, anything kept past the call has to be copied out of it
+public interface IJsonEventListener {
+
+    // an output buffer grew, in chars or bytes depending on the buffer
+    default void bufferGrown(int oldCapacity, int newCapacity) {
+    }
+
+    // the parser is on the name of a field the deserializer does not read, its value is skipped next
+    default void fieldSkipped(JsonParser parser) {
+    }
+
+    // the parser is on a value that was skipped because another token was expected
+    default void unexpectedToken(JsonParser parser, JsonToken expected) {
+    }
+
+    default void parseError(JsonParser parser, RuntimeException error) {
+    }
+}
@@ -0,0 +1,9 @@
+package dev.cwby.jasonify.serializer;
+
+// Generated once per compiled module and found through META-INF/services. Lookups only touch the
+// classes of the type asked for, so a type's serializer is loaded the first time it is used
+public interface IJsonRegistry {
+    IJsonSerializer<?> serializer(String qualifiedName);
+
+    IJsonDeserializer<?> deserializer(String qualifiedName);
+}
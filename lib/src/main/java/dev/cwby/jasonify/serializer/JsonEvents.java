@@ -0,0 +1,14 @@
+package dev.cwby.jasonify.serializer;
+
+import java.util.ServiceLoader;
+
+// Call sites check ENABLED before touching LISTENER, both are constants so without a listener on
+// the class path the JIT drops the calls altogether. Only the first listener found is used
+public final class JsonEvents {
+
+    public static final IJsonEventListener LISTENER = ServiceLoader.load(IJsonEventListener.class).findFirst().orElse(null);
+    public static final boolean ENABLED = LISTENER != null;
+
+    private JsonEvents() {
+    }
+}
@@ -0,0 +1,261 @@
+package dev.cwby.jasonify.writer;
+
+import dev.cwby.jasonify.serializer.JsonEvents;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Same contract as FastStringBuilder but encodes to UTF-8 while appending, so the result can be
+// sent without building a String first
+public class FastByteBuilder implements JsonAppendable {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    protected byte[] buffer;
+    protected int capacity;
+    protected int length;
+
+    public FastByteBuilder() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public FastByteBuilder(int capacity) {
+        this(new byte[capacity]);
+    }
+
+    // writes into the given array, it is only replaced if the output outgrows it
+    public FastByteBuilder(byte[] buffer) {
+        this.buffer = buffer;
+        this.capacity = buffer.length;
+        this.length = 0;
+    }
+
+    private void increaseCapacity(int newCapacity) {
+        if (JsonEvents.ENABLED) {
+            JsonEvents.LISTENER.bufferGrown(capacity, newCapacity);
+        }
+        this.buffer = Arrays.copyOf(buffer, newCapacity);
+        this.capacity = newCapacity;
+    }
+
+    protected void ensureCapacity(int extra) {
+        if (length + extra > capacity) {
+            increaseCapacity(Math.max(capacity * 2, length + extra));
+        }
+    }
+
+    // how many chars of a string may be encoded between two capacity checks
+    protected int maxChunk() {
+        return Integer.MAX_VALUE / 3 - 1;
+    }
+
+    @Override
+    public FastByteBuilder append(char c) {
+        if (c < 0x80) {
+            if (length == capacity) {
+                ensureCapacity(1);
+            }
+            buffer[length++] = (byte) c;
+            return this;
+        }
+        ensureCapacity(3);
+        appendNonAscii(c);
+        return this;
+    }
+
+    @Override
+    public FastByteBuilder append(String csq) {
+        int len = csq.length();
+        int i = 0;
+        while (i < len) {
+            int chunk = Math.min(len - i, maxChunk());
+            // three bytes per char, plus one when the last char pulls in its low surrogate
+            ensureCapacity(chunk * 3 + 1);
+            i = append(csq, i, i + chunk);
+        }
+        return this;
+    }
+
+    private int append(String csq, int from, int to) {
+        int len = csq.length();
+        int i = from;
+        for (; i < to; i++) {
+            char c = csq.charAt(i);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(csq.charAt(i + 1))) {
+                appendCodePoint(Character.toCodePoint(c, csq.charAt(++i)));
+            } else {
+                appendNonAscii(c);
+            }
+        }
+        return i;
+    }
+
+    @Override
+    public FastByteBuilder appendEscaped(CharSequence csq) {
+        int len = csq.length();
+        int i = 0;
+        while (i < len) {
+            int chunk = Math.min(len - i, maxChunk());
+            // three bytes per char covers the short escapes and any BMP char, longer escapes reserve more
+            ensureCapacity(chunk * 3 + 1);
+            i = appendEscaped(csq, i, i + chunk);
+        }
+        return this;
+    }
+
+    // blocks of eight plain ascii chars are packed into one long and stored at once, a block with
+    // anything to escape or encode goes through char by char
+    private int appendEscaped(CharSequence csq, int from, int to) {
+        int i = from;
+        while (i + 8 <= to) {
+            int c0 = csq.charAt(i), c1 = csq.charAt(i + 1), c2 = csq.charAt(i + 2), c3 = csq.charAt(i + 3);
+            int c4 = csq.charAt(i + 4), c5 = csq.charAt(i + 5), c6 = csq.charAt(i + 6), c7 = csq.charAt(i + 7);
+            int flags = JsonEscapes.escapeOrNonAsciiBit(c0) | JsonEscapes.escapeOrNonAsciiBit(c1)
+                    | JsonEscapes.escapeOrNonAsciiBit(c2) | JsonEscapes.escapeOrNonAsciiBit(c3)
+                    | JsonEscapes.escapeOrNonAsciiBit(c4) | JsonEscapes.escapeOrNonAsciiBit(c5)
+                    | JsonEscapes.escapeOrNonAsciiBit(c6) | JsonEscapes.escapeOrNonAsciiBit(c7);
+            if (flags == 0) {
+                long word = c0 | c1 << 8 | c2 << 16 | (long) c3 << 24
+                        | (long) c4 << 32 | (long) c5 << 40 | (long) c6 << 48 | (long) c7 << 56;
+                LONG_VIEW.set(buffer, length, word);
+                length += 8;
+                i += 8;
+                continue;
+            }
+            int blockEnd = i + 8;
+            while (i < blockEnd) {
+                i = appendEscapedChar(csq, i, to);
+            }
+        }
+        while (i < to) {
+            i = appendEscapedChar(csq, i, to);
+        }
+        return i;
+    }
+
+    // returns the index of the next char to encode
+    private int appendEscapedChar(CharSequence csq, int i, int to) {
+        char c = csq.charAt(i);
+        if (c >= 0x80) {
+            if (Character.isHighSurrogate(c) && i + 1 < csq.length() && Character.isLowSurrogate(csq.charAt(i + 1))) {
+                appendCodePoint(Character.toCodePoint(c, csq.charAt(i + 1)));
+                return i + 2;
+            }
+            appendNonAscii(c);
+        } else if (JsonEscapes.escapeBit(c) == 0) {
+            buffer[length++] = (byte) c;
+        } else {
+            // the chunk reserved three bytes per char, a \\u00XX escape needs more
+            ensureCapacity(JsonEscapes.MAX_ESCAPE_LENGTH + 3 * (to - i));
+            length = JsonEscapes.writeEscape(c, buffer, length);
+        }
+        return i + 1;
+    }
+
+    @Override
+    public FastByteBuilder appendName(SerializedName name, boolean comma) {
+        int from = comma ? 0 : 1;
+        appendBytes(name.bytes, from, name.bytes.length - from);
+        return this;
+    }
+
+    // a growing buffer takes it in one copy, a streaming one in as many as it needs
+    private void appendBytes(byte[] src, int offset, int len) {
+        while (true) {
+            ensureCapacity(Math.min(len, maxChunk()));
+            int count = Math.min(len, capacity - length);
+            System.arraycopy(src, offset, buffer, length, count);
+            length += count;
+            len -= count;
+            if (len == 0) {
+                return;
+            }
+            offset += count;
+        }
+    }
+
+    @Override
+    public FastByteBuilder appendLong(long value) {
+        ensureCapacity(NumberWriter.MAX_LONG_LENGTH);
+        length = NumberWriter.writeLong(value, buffer, length);
+        return this;
+    }
+
+    @Override
+    public FastByteBuilder appendDouble(double value) {
+        if (NumberWriter.isPlainIntegral(value)) {
+            ensureCapacity(NumberWriter.MAX_LONG_LENGTH + 2);
+            length = NumberWriter.writeLong((long) value, buffer, length);
+            buffer[length++] = '.';
+            buffer[length++] = '0';
+            return this;
+        }
+        return append(Double.toString(value));
+    }
+
+    @Override
+    public FastByteBuilder appendFloat(float value) {
+        if (NumberWriter.isPlainIntegral(value)) {
+            ensureCapacity(NumberWriter.MAX_LONG_LENGTH + 2);
+            length = NumberWriter.writeLong((long) value, buffer, length);
+            buffer[length++] = '.';
+            buffer[length++] = '0';
+            return this;
+        }
+        return append(Float.toString(value));
+    }
+
+    // capacity for three bytes must already be reserved, lone surrogates become '?'
+    private void appendNonAscii(char c) {
+        if (c < 0x800) {
+            buffer[length++] = (byte) (0xC0 | (c >> 6));
+            buffer[length++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            buffer[length++] = '?';
+        } else {
+            buffer[length++] = (byte) (0xE0 | (c >> 12));
+            buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[length++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    // capacity for four bytes must already be reserved
+    private void appendCodePoint(int cp) {
+        buffer[length++] = (byte) (0xF0 | (cp >> 18));
+        buffer[length++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+        buffer[length++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+        buffer[length++] = (byte) (0x80 | (cp & 0x3F));
+    }
+
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void setLength(int length) {
+        this.length = length;
+    }
+}
@@ -1,6 +1,8 @@
 package dev.cwby.jasonify.writer;
 
-public class FastStringBuilder {
+import dev.cwby.jasonify.serializer.JsonEvents;
+
+public class FastStringBuilder implements JsonAppendable {
     private static final int INITIAL_CAPACITY = 16;
     private char[] buffer;
     private int capacity;
@@ -17,7 +19,9 @@ public class FastStringBuilder {
     }
 
     private void increaseCapacity(int newCapacity) {
-        System.out.println("increasing the size of the buffer");
+        if (JsonEvents.ENABLED) {
+            JsonEvents.LISTENER.bufferGrown(capacity, newCapacity);
+        }
         char[] newBuffer = new char[newCapacity];
         System.arraycopy(buffer, 0, newBuffer, 0, length);
         this.buffer = newBuffer;
@@ -28,6 +32,13 @@ public class FastStringBuilder {
         increaseCapacity(capacity * 2);
     }
 
+    private void ensureCapacity(int extra) {
+        if (length + extra > capacity) {
+            increaseCapacity(Math.max(capacity * 2, length + extra));
+        }
+    }
+
+    @Override
     public FastStringBuilder append(char c) {
         if (length == capacity) {
             increaseCapacity();
@@ -36,56 +47,84 @@ public class FastStringBuilder {
         return this;
     }
 
+    @Override
     public FastStringBuilder append(String csq) {
-        if (csq.length() + length > capacity) {
-            increaseCapacity(capacity + csq.length());
-        }
-
+        ensureCapacity(csq.length());
         csq.getChars(0, csq.length(), buffer, length);
         length += csq.length();
         return this;
     }
 
+    @Override
+    public FastStringBuilder appendName(SerializedName name, boolean comma) {
+        int from = comma ? 0 : 1;
+        int len = name.chars.length - from;
+        ensureCapacity(len);
+        System.arraycopy(name.chars, from, buffer, length, len);
+        length += len;
+        return this;
+    }
+
+    @Override
+    public FastStringBuilder appendLong(long value) {
+        ensureCapacity(NumberWriter.MAX_LONG_LENGTH);
+        length = NumberWriter.writeLong(value, buffer, length);
+        return this;
+    }
+
+    @Override
+    public FastStringBuilder appendDouble(double value) {
+        if (NumberWriter.isPlainIntegral(value)) {
+            ensureCapacity(NumberWriter.MAX_LONG_LENGTH + 2);
+            length = NumberWriter.writeLong((long) value, buffer, length);
+            buffer[length++] = '.';
+            buffer[length++] = '0';
+            return this;
+        }
+        return append(Double.toString(value));
+    }
+
+    @Override
+    public FastStringBuilder appendFloat(float value) {
+        if (NumberWriter.isPlainIntegral(value)) {
+            ensureCapacity(NumberWriter.MAX_LONG_LENGTH + 2);
+            length = NumberWriter.writeLong((long) value, buffer, length);
+            buffer[length++] = '.';
+            buffer[length++] = '0';
+            return this;
+        }
+        return append(Float.toString(value));
+    }
+
     public FastStringBuilder appendEscaped(char c) {
-        switch (c) {
-            case '\"':
-                buffer[length++] = '\\';
-                buffer[length++] = '\"';
-                break;
-            case '\\':
-                buffer[length++] = '\\';
-                buffer[length++] = '\\';
-                break;
-            case '\b':
-                buffer[length++] = '\\';
-                buffer[length++] = 'b';
-                break;
-            case '\f':
-                buffer[length++] = '\\';
-                buffer[length++] = 'f';
-                break;
-            case '\n':
-                buffer[length++] = '\\';
-                buffer[length++] = 'n';
-                break;
-            case '\r':
-                buffer[length++] = '\\';
-                buffer[length++] = 'r';
-                break;
-            case '\t':
-                buffer[length++] = '\\';
-                buffer[length++] = 't';
-                break;
-            default:
-                buffer[length++] = c;
-                break;
+        if (JsonEscapes.escapeBit(c) == 0) {
+            return append(c);
         }
+        ensureCapacity(JsonEscapes.MAX_ESCAPE_LENGTH);
+        length = JsonEscapes.writeEscape(c, buffer, length);
         return this;
     }
 
+    @Override
     public FastStringBuilder appendEscaped(CharSequence csq) {
-        for (int i = 0; i < csq.length(); i++) {
-            appendEscaped(csq.charAt(i));
+        int len = csq.length();
+        ensureCapacity(len);
+        int i = 0;
+        if (csq instanceof String s) {
+            // most values need no escaping, so copy the whole string and only check the copy
+            s.getChars(0, len, buffer, length);
+            i = JsonEscapes.firstEscape(buffer, length, length + len) - length;
+            length += i;
+        }
+        for (; i < len; i++) {
+            char c = csq.charAt(i);
+            if (JsonEscapes.escapeBit(c) == 0) {
+                buffer[length++] = c;
+            } else {
+                // the chars left were reserved one each, the escape needs room of its own
+                ensureCapacity(JsonEscapes.MAX_ESCAPE_LENGTH + len - i);
+                length = JsonEscapes.writeEscape(c, buffer, length);
+            }
         }
         return this;
     }
@@ -95,6 +134,17 @@ public class FastStringBuilder {
         return new String(buffer, 0, length);
     }
 
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
     public void setLength(int length) {
         this.length = length;
     }
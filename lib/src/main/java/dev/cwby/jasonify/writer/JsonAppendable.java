@@ -0,0 +1,26 @@
+package dev.cwby.jasonify.writer;
+
+// Output buffer behind a JsonGenerator, implementations decide how the text is encoded
+public interface JsonAppendable {
+
+    JsonAppendable append(char c);
+
+    JsonAppendable append(String csq);
+
+    JsonAppendable appendEscaped(CharSequence csq);
+
+    // the leading comma of the token is skipped unless asked for
+    JsonAppendable appendName(SerializedName name, boolean comma);
+
+    JsonAppendable appendLong(long value);
+
+    JsonAppendable appendDouble(double value);
+
+    JsonAppendable appendFloat(float value);
+
+    int length();
+
+    int capacity();
+
+    void setLength(int length);
+}
@@ -0,0 +1,85 @@
+package dev.cwby.jasonify.writer;
+
+// Escape detection shared by the builders. The checks are branch free so a block of chars can be
+// tested with a single branch, control chars without a short form are written as \\u00XX
+final class JsonEscapes {
+
+    static final int MAX_ESCAPE_LENGTH = 6;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonEscapes() {
+    }
+
+    // 1 when c is below 0x20, a quote or a backslash
+    static int escapeBit(int c) {
+        return ((c - 0x20) | ((c ^ '"') - 1) | ((c ^ '\\') - 1)) >>> 31;
+    }
+
+    // same as escapeBit but also set for anything outside ascii, which the UTF-8 encoder handles
+    static int escapeOrNonAsciiBit(int c) {
+        return ((c - 0x20) | (0x7F - c) | ((c ^ '"') - 1) | ((c ^ '\\') - 1)) >>> 31;
+    }
+
+    // index of the first char that needs escaping, or to when there is none
+    static int firstEscape(char[] buf, int from, int to) {
+        int i = from;
+        for (; i + 8 <= to; i += 8) {
+            int flags = escapeBit(buf[i]) | escapeBit(buf[i + 1]) | escapeBit(buf[i + 2]) | escapeBit(buf[i + 3])
+                    | escapeBit(buf[i + 4]) | escapeBit(buf[i + 5]) | escapeBit(buf[i + 6]) | escapeBit(buf[i + 7]);
+            if (flags != 0) {
+                break;
+            }
+        }
+        for (; i < to; i++) {
+            if (escapeBit(buf[i]) != 0) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    // c must need escaping, returns the position after the escape
+    static int writeEscape(char c, char[] buf, int pos) {
+        buf[pos++] = '\\';
+        char shortForm = shortForm(c);
+        if (shortForm != 0) {
+            buf[pos++] = shortForm;
+            return pos;
+        }
+        buf[pos++] = 'u';
+        buf[pos++] = '0';
+        buf[pos++] = '0';
+        buf[pos++] = HEX[c >> 4];
+        buf[pos++] = HEX[c & 0xF];
+        return pos;
+    }
+
+    static int writeEscape(char c, byte[] buf, int pos) {
+        buf[pos++] = '\\';
+        char shortForm = shortForm(c);
+        if (shortForm != 0) {
+            buf[pos++] = (byte) shortForm;
+            return pos;
+        }
+        buf[pos++] = 'u';
+        buf[pos++] = '0';
+        buf[pos++] = '0';
+        buf[pos++] = (byte) HEX[c >> 4];
+        buf[pos++] = (byte) HEX[c & 0xF];
+        return pos;
+    }
+
+    private static char shortForm(char c) {
+        return switch (c) {
+            case '"' -> '"';
+            case '\\' -> '\\';
+            case '\b' -> 'b';
+            case '\f' -> 'f';
+            case '\n' -> 'n';
+            case '\r' -> 'r';
+            case '\t' -> 't';
+            default -> 0;
+        };
+    }
+}
@@ -3,11 +3,11 @@ package dev.cwby.jasonify.writer;
 import dev.cwby.jasonify.SerializerManager;
 
 public class JsonGenerator {
-    private final FastStringBuilder appendable;
+    private final JsonAppendable appendable;
     private int depth = 0;
     private boolean isFirst = true;
 
-    public JsonGenerator(final FastStringBuilder appendable) {
+    public JsonGenerator(final JsonAppendable appendable) {
         this.appendable = appendable;
     }
 
@@ -41,6 +41,15 @@ public class JsonGenerator {
         return this;
     }
 
+    // opens an object and writes its first field name with one copy, the name has to come from
+    // SerializedName.objectStart
+    public JsonGenerator writeStartObject(SerializedName firstField) {
+        appendable.appendName(firstField, !isFirst());
+        depth += 2;
+        isFirst = true;
+        return this;
+    }
+
     public JsonGenerator writeEndObject() {
         append('}');
         depth--;
@@ -66,7 +75,14 @@ public class JsonGenerator {
 
     public JsonGenerator writeField(String fieldName) {
         handleComma();
-        append('\"').append(fieldName).append('\"').append(':');
+        appendable.append('\"').appendEscaped(fieldName).append('\"').append(':');
+        depth++;
+        isFirst = true;
+        return this;
+    }
+
+    public JsonGenerator writeField(SerializedName fieldName) {
+        appendable.appendName(fieldName, !isFirst());
         depth++;
         isFirst = true;
         return this;
@@ -84,13 +100,56 @@ public class JsonGenerator {
 
     public JsonGenerator writeBoolean(boolean value) {
         handleComma();
-        append(String.valueOf(value));
+        append(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonGenerator writeNumber(int value) {
+        handleComma();
+        appendable.appendLong(value);
+        return this;
+    }
+
+    public JsonGenerator writeNumber(long value) {
+        handleComma();
+        appendable.appendLong(value);
+        return this;
+    }
+
+    public JsonGenerator writeNumber(float value) {
+        handleComma();
+        appendable.appendFloat(value);
         return this;
     }
 
+    public JsonGenerator writeNumber(double value) {
+        handleComma();
+        appendable.appendDouble(value);
+        return this;
+    }
+
+    // the usual boxed types take the primitive paths instead of going through toString
     public JsonGenerator writeNumber(Number value) {
+        if (value instanceof Integer i) {
+            return writeNumber(i.intValue());
+        }
+        if (value instanceof Long l) {
+            return writeNumber(l.longValue());
+        }
+        if (value instanceof Double d) {
+            return writeNumber(d.doubleValue());
+        }
+        if (value instanceof Float f) {
+            return writeNumber(f.floatValue());
+        }
         handleComma();
-        append(value.toString());
+        append(value != null ? value.toString() : "null");
+        return this;
+    }
+
+    public JsonGenerator writeNull() {
+        handleComma();
+        append("null");
         return this;
     }
 
@@ -117,11 +176,13 @@ public class JsonGenerator {
         return appendable.toString();
     }
 
+    public JsonAppendable getAppendable() {
+        return appendable;
+    }
+
     public void reset() {
         this.depth = 0;
         this.isFirst = true;
-        if (this.appendable instanceof FastStringBuilder fastStringBuilder) {
-            fastStringBuilder.setLength(0);
-        }
+        this.appendable.setLength(0);
     }
 }
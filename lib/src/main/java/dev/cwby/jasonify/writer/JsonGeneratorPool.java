@@ -0,0 +1,62 @@
+package dev.cwby.jasonify.writer;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+// Lock free pool of generators. Slots are claimed with CAS rather than kept per thread, so it
+// behaves the same for virtual threads, and generators whose buffer grew past maxRetainedCapacity
+// are dropped instead of pinning that memory
+public class JsonGeneratorPool {
+    public static final int DEFAULT_MAX_RETAINED_CAPACITY = 1 << 16;
+
+    private final Supplier<JsonAppendable> factory;
+    private final AtomicReferenceArray<JsonGenerator> slots;
+    private final int maxRetainedCapacity;
+
+    public JsonGeneratorPool(Supplier<JsonAppendable> factory) {
+        this(factory, Math.min(64, Runtime.getRuntime().availableProcessors() * 2), DEFAULT_MAX_RETAINED_CAPACITY);
+    }
+
+    public JsonGeneratorPool(Supplier<JsonAppendable> factory, int size, int maxRetainedCapacity) {
+        this.factory = factory;
+        this.slots = new AtomicReferenceArray<>(Math.max(1, size));
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    public JsonGenerator acquire() {
+        int length = slots.length();
+        int start = probe(length);
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            if (slots.getPlain(index) != null) {
+                JsonGenerator generator = slots.getAndSet(index, null);
+                if (generator != null) {
+                    return generator;
+                }
+            }
+        }
+        return new JsonGenerator(factory.get());
+    }
+
+    public void release(JsonGenerator generator) {
+        if (generator.getAppendable().capacity() > maxRetainedCapacity) {
+            return;
+        }
+        generator.reset();
+
+        int length = slots.length();
+        int start = probe(length);
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            if (slots.getPlain(index) == null && slots.compareAndSet(index, null, generator)) {
+                return;
+            }
+        }
+    }
+
+    // spreads threads over the slots so they rarely contend for the same one
+    private static int probe(int length) {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id ^ (id >>> 16)) & Integer.MAX_VALUE) % length;
+    }
+}
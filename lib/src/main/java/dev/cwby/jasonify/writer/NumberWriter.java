@@ -0,0 +1,114 @@
+package dev.cwby.jasonify.writer;
+
+// Formats numbers straight into the output buffers. Callers reserve MAX_LONG_LENGTH first
+final class NumberWriter {
+
+    static final int MAX_LONG_LENGTH = 20;
+
+    private static final String LONG_MIN = "-9223372036854775808";
+    private static final byte[] DIGIT_TENS = new byte[100];
+    private static final byte[] DIGIT_ONES = new byte[100];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (byte) ('0' + i / 10);
+            DIGIT_ONES[i] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private NumberWriter() {
+    }
+
+    // Double.toString already produces the shortest round trip digits (Schubfach since JDK 19),
+    // integral values in its plain notation range skip the String and print as "<long>.0"
+    static boolean isPlainIntegral(double value) {
+        return value == (long) value && Math.abs(value) < 1e7 && (value != 0 || Double.doubleToRawLongBits(value) == 0);
+    }
+
+    static int size(long value) {
+        long p = 10;
+        for (int i = 1; i < 19; i++) {
+            if (value < p) {
+                return i;
+            }
+            p *= 10;
+        }
+        return 19;
+    }
+
+    static int writeLong(long value, byte[] buf, int pos) {
+        if (value == Long.MIN_VALUE) {
+            for (int i = 0; i < LONG_MIN.length(); i++) {
+                buf[pos++] = (byte) LONG_MIN.charAt(i);
+            }
+            return pos;
+        }
+        if (value < 0) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+
+        int end = pos + size(value);
+        int p = end;
+        while (value > Integer.MAX_VALUE) {
+            long q = value / 100;
+            int r = (int) (value - q * 100);
+            buf[--p] = DIGIT_ONES[r];
+            buf[--p] = DIGIT_TENS[r];
+            value = q;
+        }
+
+        int v = (int) value;
+        while (v >= 100) {
+            int q = v / 100;
+            int r = v - q * 100;
+            buf[--p] = DIGIT_ONES[r];
+            buf[--p] = DIGIT_TENS[r];
+            v = q;
+        }
+        if (v >= 10) {
+            buf[--p] = DIGIT_ONES[v];
+            buf[--p] = DIGIT_TENS[v];
+        } else {
+            buf[--p] = (byte) ('0' + v);
+        }
+        return end;
+    }
+
+    static int writeLong(long value, char[] buf, int pos) {
+        if (value == Long.MIN_VALUE) {
+            LONG_MIN.getChars(0, LONG_MIN.length(), buf, pos);
+            return pos + LONG_MIN.length();
+        }
+        if (value < 0) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+
+        int end = pos + size(value);
+        int p = end;
+        while (value > Integer.MAX_VALUE) {
+            long q = value / 100;
+            int r = (int) (value - q * 100);
+            buf[--p] = (char) DIGIT_ONES[r];
+            buf[--p] = (char) DIGIT_TENS[r];
+            value = q;
+        }
+
+        int v = (int) value;
+        while (v >= 100) {
+            int q = v / 100;
+            int r = v - q * 100;
+            buf[--p] = (char) DIGIT_ONES[r];
+            buf[--p] = (char) DIGIT_TENS[r];
+            v = q;
+        }
+        if (v >= 10) {
+            buf[--p] = (char) DIGIT_ONES[v];
+            buf[--p] = (char) DIGIT_TENS[v];
+        } else {
+            buf[--p] = (char) ('0' + v);
+        }
+        return end;
+    }
+}
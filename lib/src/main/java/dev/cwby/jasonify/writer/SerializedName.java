@@ -0,0 +1,38 @@
+package dev.cwby.jasonify.writer;
+
+import java.nio.charset.StandardCharsets;
+
+// A field name escaped and encoded once, written as ,"name": with a single array copy. Generated
+// serializers keep one per field in a static final
+public final class SerializedName {
+    private final String value;
+    final char[] chars;
+    final byte[] bytes;
+
+    public SerializedName(String value) {
+        this(value, ",");
+    }
+
+    private SerializedName(String value, String prefix) {
+        this.value = value;
+        var builder = new FastStringBuilder(value.length() + 5);
+        builder.append(prefix).append('"').appendEscaped(value).append('"').append(':');
+        String token = builder.toString();
+        this.chars = token.toCharArray();
+        this.bytes = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ,{"name": opening an object together with its first field, see JsonGenerator.writeStartObject
+    public static SerializedName objectStart(String value) {
+        return new SerializedName(value, ",{");
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,108 @@
+package dev.cwby.jasonify.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// Fixed size UTF-8 buffer that is drained to a stream or channel whenever it fills up, memory
+// stays the same no matter how large the document is
+public class StreamingByteBuilder extends FastByteBuilder implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 8192;
+    // room for the largest single write, a formatted double
+    private static final int MIN_CAPACITY = 32;
+
+    private final OutputStream outputStream;
+    private final WritableByteChannel channel;
+    private final ByteBuffer channelBuffer;
+
+    public StreamingByteBuilder(OutputStream outputStream) {
+        this(outputStream, DEFAULT_CAPACITY);
+    }
+
+    public StreamingByteBuilder(OutputStream outputStream, int capacity) {
+        super(Math.max(capacity, MIN_CAPACITY));
+        this.outputStream = outputStream;
+        this.channel = null;
+        this.channelBuffer = null;
+    }
+
+    public StreamingByteBuilder(WritableByteChannel channel) {
+        this(channel, DEFAULT_CAPACITY);
+    }
+
+    public StreamingByteBuilder(WritableByteChannel channel, int capacity) {
+        super(Math.max(capacity, MIN_CAPACITY));
+        this.outputStream = null;
+        this.channel = channel;
+        this.channelBuffer = ByteBuffer.wrap(buffer);
+    }
+
+    @Override
+    protected void ensureCapacity(int extra) {
+        if (length + extra > capacity) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    protected int maxChunk() {
+        // leaves room for a six byte escape on top of three bytes for each char after it
+        return (capacity - 8) / 3;
+    }
+
+    private void flushBuffer() {
+        if (length == 0) {
+            return;
+        }
+        try {
+            if (outputStream != null) {
+                outputStream.write(buffer, 0, length);
+            } else {
+                channelBuffer.clear().limit(length);
+                while (channelBuffer.hasRemaining()) {
+                    channel.write(channelBuffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        length = 0;
+    }
+
+    // writes what is buffered and flushes the stream, the target is left open
+    public void flush() throws IOException {
+        try {
+            flushBuffer();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (outputStream != null) {
+            outputStream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    @Override
+    public void setLength(int length) {
+        if (length != 0) {
+            throw new UnsupportedOperationException("a streaming buffer can only be reset");
+        }
+        super.setLength(length);
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        throw new UnsupportedOperationException("output was already written to the stream");
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingByteBuilder{" + "buffered=" + length + ", capacity=" + capacity + '}';
+    }
+}
@@ -13,6 +13,14 @@ repositories {
 dependencies {
     annotationProcessor(project(":lib"))
     implementation(project(":lib"))
+    testAnnotationProcessor(project(":lib"))
+    testImplementation(platform("org.junit:junit-bom:5.11.3"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 application.mainClass.set("dev.cwby.jasonify.Main")
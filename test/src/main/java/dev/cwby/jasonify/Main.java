@@ -1,14 +1,12 @@
 package dev.cwby.jasonify;
 
 import dev.cwby.jasonify.exception.AppendJsonException;
-import dev.cwby.jasonify.test.TestClass;
 import dev.cwby.jasonify.writer.JsonGenerator;
 
 public class Main {
 
   public static void main(String[] args) throws AppendJsonException {
-    TestClass testClass = new TestClass();
-    JsonGenerator jsonGenerator = new JsonGenerator(new StringBuilder());
+    JsonGenerator jsonGenerator = new JsonGenerator();
     jsonGenerator.writeStartObject();
 
     jsonGenerator.writeField("jsonBooleanTrue").writeBoolean(true);
@@ -0,0 +1,56 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.ArrayHolder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayNullsTest {
+
+    private static final String JSON = "{\"names\":[\"a\",null,\"c\"],\"boxed\":[1,null,3],\"items\":[{\"id\":1,\"label\":\"x\"},null,{\"id\":3}],"
+            + "\"grid\":[[\"a\"],null,[null,\"b\"]],\"itemList\":[null,{\"id\":2}]}";
+
+    @Test
+    void referenceArraysKeepNullElements() throws IOException {
+        assertNulls(SerializerManager.fromJson(JSON, ArrayHolder.class));
+        assertNulls(SerializerManager.fromJson(JSON.getBytes(StandardCharsets.UTF_8), ArrayHolder.class));
+    }
+
+    @Test
+    void nullElementsRoundTrip() throws IOException {
+        var holder = SerializerManager.fromJson(JSON, ArrayHolder.class);
+        assertNulls(SerializerManager.fromJson(SerializerManager.toJson(holder), ArrayHolder.class));
+    }
+
+    @Test
+    void primitiveArraysRejectNullElements() {
+        assertThrows(IllegalArgumentException.class, () -> SerializerManager.fromJson("{\"ints\":[1,null,3]}", ArrayHolder.class));
+    }
+
+    @Test
+    void arraysGrowPastTheInitialCapacity() throws IOException {
+        var json = new StringBuilder("{\"ints\":[");
+        for (int i = 0; i < 100; i++) {
+            json.append(i == 0 ? "" : ",").append(i);
+        }
+        var holder = SerializerManager.fromJson(json.append("]}").toString(), ArrayHolder.class);
+        assertEquals(100, holder.ints.length);
+        assertEquals(99, holder.ints[99]);
+    }
+
+    private static void assertNulls(ArrayHolder holder) {
+        assertArrayEquals(new String[]{"a", null, "c"}, holder.names);
+        assertArrayEquals(new Integer[]{1, null, 3}, holder.boxed);
+        assertEquals(3, holder.items.length);
+        assertEquals("x", holder.items[0].label);
+        assertNull(holder.items[1]);
+        assertEquals(3, holder.items[2].id);
+        assertArrayEquals(new String[][]{{"a"}, null, {null, "b"}}, holder.grid);
+        assertEquals(2, holder.itemList.size());
+        assertNull(holder.itemList.get(0));
+        assertEquals(2, holder.itemList.get(1).id);
+    }
+}
@@ -0,0 +1,44 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.reader.CharJsonParser;
+import dev.cwby.jasonify.reader.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CharJsonParserTest {
+
+    @Test
+    void walksEveryTokenKind() throws IOException {
+        String json = " {\n\t\"a\" : [1, -2.5e3, true, false, null],\r\n \"b\": {\"c\": \"d\"}, \"e\": [] } ";
+        assertEquals(List.of("START_OBJECT", "FIELD_NAME:a", "START_ARRAY", "VALUE_NUMBER:1", "VALUE_NUMBER:-2.5e3",
+                "VALUE_BOOLEAN:true", "VALUE_BOOLEAN:false", "NULL", "END_ARRAY", "FIELD_NAME:b", "START_OBJECT",
+                "FIELD_NAME:c", "VALUE_STRING:d", "END_OBJECT", "FIELD_NAME:e", "START_ARRAY", "END_ARRAY", "END_OBJECT"),
+                Parsers.tokens(new CharJsonParser(json)));
+    }
+
+    @Test
+    void readsOnlyTheGivenRange() throws IOException {
+        String json = "[1][\"in\",2]{}";
+        assertEquals(List.of("START_ARRAY", "VALUE_STRING:in", "VALUE_NUMBER:2", "END_ARRAY"), Parsers.tokens(new CharJsonParser(json, 3, 8)));
+    }
+
+    @Test
+    void comparesNamesWithoutDecodingThem() throws IOException {
+        var parser = new CharJsonParser("{\"name\":1}");
+        parser.nextToken();
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertTrue(parser.currentNameEquals("name"));
+        assertFalse(parser.currentNameEquals("nam"));
+        assertEquals("name".hashCode(), parser.getCurrentNameHash());
+    }
+
+    @Test
+    void rejectsBrokenLiterals() {
+        assertThrows(IllegalArgumentException.class, () -> Parsers.tokens(new CharJsonParser("[nul]")));
+        assertThrows(IllegalArgumentException.class, () -> Parsers.tokens(new CharJsonParser("[\"open")));
+    }
+}
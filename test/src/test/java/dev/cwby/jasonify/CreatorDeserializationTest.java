@@ -0,0 +1,82 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Account;
+import dev.cwby.jasonify.model.Money;
+import dev.cwby.jasonify.model.Order;
+import dev.cwby.jasonify.model.Point;
+import dev.cwby.jasonify.model.Polygon;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreatorDeserializationTest {
+
+    @Test
+    void recordsAreBuiltWithTheirCanonicalConstructor() throws IOException {
+        var polygon = new Polygon("triangle", List.of(new Point(0, 0), new Point(4, 0), new Point(0, 3)), 6.0, true);
+        String json = SerializerManager.toJson(polygon);
+        assertEquals(polygon, SerializerManager.fromJson(json, Polygon.class));
+        assertEquals(polygon, SerializerManager.fromJson(json.getBytes(StandardCharsets.UTF_8), Polygon.class));
+    }
+
+    @Test
+    void missingRecordComponentsGetDefaults() throws IOException {
+        assertEquals(new Polygon("p", null, 0.0, false), SerializerManager.fromJson("{\"name\":\"p\",\"other\":[1]}", Polygon.class));
+    }
+
+    @Test
+    void staticFactoryParametersAreMatchedByName() throws IOException {
+        var money = SerializerManager.fromJson("{\"cents\":1250,\"currency\":\"EUR\"}", Money.class);
+        assertEquals(1250, money.getCents());
+        assertEquals("EUR", money.getCurrency());
+        assertEquals("{\"cents\":1250,\"currency\":\"EUR\"}", SerializerManager.toJson(money));
+    }
+
+    @Test
+    void constructorWithNestedCreatorTypes() throws IOException {
+        var account = new Account("acc-1", Money.of("USD", 99), 3);
+        String json = SerializerManager.toJson(account);
+        assertEquals("{\"id\":\"acc-1\",\"version\":3,\"balance\":{\"cents\":99,\"currency\":\"USD\"}}", json);
+
+        var read = SerializerManager.fromJson("{\"balance\":{\"currency\":\"USD\",\"cents\":99},\"version\":3,\"id\":\"acc-1\"}", Account.class);
+        assertEquals("acc-1", read.id);
+        assertEquals(3, read.version);
+        assertEquals(99, read.balance.getCents());
+        assertEquals("USD", read.balance.getCurrency());
+    }
+
+    @Test
+    void nullNestedCreatorValue() throws IOException {
+        var read = SerializerManager.fromJson("{\"id\":\"x\",\"balance\":null}", Account.class);
+        assertEquals("x", read.id);
+        assertNull(read.balance);
+        assertEquals(0, read.version);
+    }
+
+    @Test
+    void fieldsOutsideTheCreatorAreSetAfterIt() throws IOException {
+        var order = new Order(2, "o-1");
+        order.note = "fragile";
+        order.tags = List.of("a", "b");
+        order.total = Money.of("EUR", 500);
+        String json = SerializerManager.toJson(order);
+
+        for (var read : List.of(SerializerManager.fromJson(json, Order.class), SerializerManager.fromJson(json.getBytes(StandardCharsets.UTF_8), Order.class))) {
+            assertEquals("o-1", read.id);
+            assertEquals(2, read.quantity);
+            assertEquals("fragile", read.note);
+            assertEquals(List.of("a", "b"), read.tags);
+            assertEquals(500, read.total.getCents());
+        }
+
+        var partial = SerializerManager.fromJson("{\"note\":\"n\",\"id\":\"o-2\"}", Order.class);
+        assertEquals("o-2", partial.id);
+        assertEquals(0, partial.quantity);
+        assertEquals("n", partial.note);
+        assertNull(partial.tags);
+    }
+}
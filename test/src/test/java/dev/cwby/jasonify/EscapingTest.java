@@ -0,0 +1,91 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.writer.FastByteBuilder;
+import dev.cwby.jasonify.writer.FastStringBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EscapingTest {
+
+    // the plain char by char escaper the fast paths have to agree with
+    private static String reference(CharSequence value) {
+        var sb = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void assertEscapes(CharSequence value) {
+        String expected = reference(value);
+        assertEquals(expected, new FastStringBuilder(4).appendEscaped(value).toString());
+        var bytes = new FastByteBuilder(4).appendEscaped(value);
+        assertEquals(expected, new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void everyAsciiCharAtEveryBlockPosition() {
+        for (char c = 0; c < 0x80; c++) {
+            for (int position = 0; position < 17; position++) {
+                String value = "a".repeat(position) + c + "b".repeat(16 - position);
+                assertEscapes(value);
+                assertEscapes(new StringBuilder(value));
+            }
+        }
+    }
+
+    @Test
+    void plainAndMixedStrings() {
+        assertEscapes("");
+        assertEscapes("plain ascii that needs nothing at all");
+        assertEscapes("\"\\\"\\");
+        assertEscapes("é漢字😀 mixed with \"quotes\" and\ttabs");
+        assertEscapes("😀".repeat(100));
+        assertEscapes("\u0000\u001f\u007f\u0080߿ࠀ￿");
+    }
+
+    @Test
+    void longStringsAcrossChunks() {
+        assertEscapes("x".repeat(100_000));
+        assertEscapes("\n".repeat(50_000));
+        assertEscapes("漢\"".repeat(40_000));
+    }
+
+    @Test
+    void randomStringsMatchTheReference() {
+        var random = new Random(11L);
+        char[] alphabet = "abcXYZ019 \"\\\n\t\u0001\u001féü漢".toCharArray();
+        for (int i = 0; i < 5000; i++) {
+            var sb = new StringBuilder();
+            int length = random.nextInt(64);
+            for (int j = 0; j < length; j++) {
+                if (random.nextInt(20) == 0) {
+                    sb.appendCodePoint(0x1F600 + random.nextInt(50));
+                } else {
+                    sb.append(alphabet[random.nextInt(alphabet.length)]);
+                }
+            }
+            assertEscapes(sb.toString());
+        }
+    }
+}
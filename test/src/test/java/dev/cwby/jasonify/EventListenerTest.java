@@ -0,0 +1,60 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Item;
+import dev.cwby.jasonify.reader.CharJsonParser;
+import dev.cwby.jasonify.reader.JsonToken;
+import dev.cwby.jasonify.serializer.JsonEvents;
+import dev.cwby.jasonify.writer.FastByteBuilder;
+import dev.cwby.jasonify.writer.FastStringBuilder;
+import dev.cwby.jasonify.writer.JsonGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventListenerTest {
+
+    @Test
+    void listenerIsLoadedFromTheClassPath() {
+        assertTrue(JsonEvents.ENABLED);
+        assertInstanceOf(RecordingEventListener.class, JsonEvents.LISTENER);
+    }
+
+    @Test
+    void skippedFieldsAreReported() throws IOException {
+        RecordingEventListener.drain();
+        SerializerManager.fromJson("{\"id\":1,\"extra\":{\"a\":[1]},\"label\":\"x\",\"more\":2}", Item.class);
+        assertEquals(List.of("skipped extra", "skipped more"), RecordingEventListener.drain());
+    }
+
+    @Test
+    void unexpectedTokensAreReported() throws IOException {
+        RecordingEventListener.drain();
+        var parser = new CharJsonParser("[{\"a\":1}]");
+        parser.nextToken();
+        parser.nextToken();
+        boolean[] called = new boolean[1];
+        parser.expectOrSkip(JsonToken.START_ARRAY, () -> called[0] = true);
+        assertFalse(called[0]);
+        assertEquals(JsonToken.END_OBJECT, parser.getCurrentToken());
+        assertEquals(List.of("unexpected START_OBJECT for START_ARRAY"), RecordingEventListener.drain());
+    }
+
+    @Test
+    void parseErrorsAreReportedAndRethrown() {
+        RecordingEventListener.drain();
+        assertThrows(IllegalArgumentException.class, () -> SerializerManager.fromJson("{\"id\":1,\"label\":\"x", Item.class));
+        assertEquals(List.of("error IllegalArgumentException"), RecordingEventListener.drain());
+    }
+
+    @Test
+    void bufferGrowthIsReported() {
+        RecordingEventListener.drain();
+        new JsonGenerator(new FastStringBuilder(4)).writeString("0123456789");
+        new JsonGenerator(new FastByteBuilder(4)).writeString("0123456789");
+        List<String> events = RecordingEventListener.drain();
+        assertEquals(2, events.stream().filter(event -> event.startsWith("grown 4 -> ")).count(), events.toString());
+    }
+}
@@ -0,0 +1,55 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Colliding;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldDispatchTest {
+
+    private static Colliding read(String json) throws IOException {
+        var fromString = SerializerManager.fromJson(json, Colliding.class);
+        var fromBytes = SerializerManager.fromJson(json.getBytes(StandardCharsets.UTF_8), Colliding.class);
+        assertEquals(fromString.first, fromBytes.first);
+        assertEquals(fromString.second, fromBytes.second);
+        assertEquals(fromString.label, fromBytes.label);
+        return fromBytes;
+    }
+
+    @Test
+    void namesWithTheSameHashGoToTheirOwnField() throws IOException {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        var value = read("{\"BB\":2,\"Aa\":1,\"label\":\"x\"}");
+        assertEquals(1, value.first);
+        assertEquals(2, value.second);
+        assertEquals("x", value.label);
+    }
+
+    @Test
+    void unknownNameWithACollidingHashIsSkipped() throws IOException {
+        assertEquals("Aa".hashCode(), "C#".hashCode());
+        var value = read("{\"C#\":{\"Aa\":9,\"BB\":[9]},\"Aa\":1,\"BB\":2}");
+        assertEquals(1, value.first);
+        assertEquals(2, value.second);
+        assertNull(value.label);
+    }
+
+    @Test
+    void escapedNamesAreMatched() throws IOException {
+        var value = read("{\"\\u0041a\":1,\"B\\u0042\":2,\"l\\u0061bel\":\"y\"}");
+        assertEquals(1, value.first);
+        assertEquals(2, value.second);
+        assertEquals("y", value.label);
+    }
+
+    @Test
+    void prefixesAndLongerNamesAreNotMatched() throws IOException {
+        var value = read("{\"A\":5,\"Aaa\":6,\"labels\":\"no\",\"lab\":\"no\",\"BB\":2}");
+        assertEquals(0, value.first);
+        assertEquals(2, value.second);
+        assertNull(value.label);
+    }
+}
@@ -0,0 +1,59 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Primitives;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldOrderTest {
+
+    private static Primitives read(String json) throws IOException {
+        assertValues(SerializerManager.fromJson(json, Primitives.class));
+        return SerializerManager.fromJson(json.getBytes(StandardCharsets.UTF_8), Primitives.class);
+    }
+
+    private static void assertValues(Primitives value) {
+        assertEquals(1, value.anInt);
+        assertEquals(2L, value.aLong);
+        assertEquals(3.5, value.aDouble);
+        assertTrue(value.aBoolean);
+        assertEquals(Integer.valueOf(5), value.boxedInt);
+    }
+
+    @Test
+    void declarationOrder() throws IOException {
+        assertValues(read("{\"anInt\":1,\"aLong\":2,\"aDouble\":3.5,\"aBoolean\":true,\"boxedInt\":5}"));
+    }
+
+    @Test
+    void reversedOrder() throws IOException {
+        assertValues(read("{\"boxedInt\":5,\"aBoolean\":true,\"aDouble\":3.5,\"aLong\":2,\"anInt\":1}"));
+    }
+
+    @Test
+    void shuffledWithUnknownKeysBetween() throws IOException {
+        assertValues(read("{\"x\":[1,{\"anInt\":9}],\"aLong\":2,\"anInt\":1,\"y\":{\"aLong\":9},\"boxedInt\":5,"
+                + "\"aDouble\":3.5,\"z\":\"anInt\",\"aBoolean\":true}"));
+    }
+
+    @Test
+    void lastValueOfARepeatedKeyWins() throws IOException {
+        assertValues(read("{\"anInt\":7,\"aLong\":2,\"anInt\":1,\"aDouble\":3.5,\"aBoolean\":true,\"boxedInt\":5}"));
+    }
+
+    @Test
+    void serializerOutputReadsBack() throws IOException {
+        var value = new Primitives();
+        value.anInt = 1;
+        value.aLong = 2;
+        value.aDouble = 3.5;
+        value.aBoolean = true;
+        value.boxedInt = 5;
+        value.bytes = new byte[0];
+        String json = SerializerManager.toJson(value);
+        assertValues(read(json));
+    }
+}
@@ -0,0 +1,94 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Item;
+import dev.cwby.jasonify.writer.FastStringBuilder;
+import dev.cwby.jasonify.writer.JsonGenerator;
+import dev.cwby.jasonify.writer.JsonGeneratorPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneratorPoolTest {
+
+    @Test
+    void releasedGeneratorsAreResetAndReused() {
+        var pool = new JsonGeneratorPool(() -> new FastStringBuilder(16), 1, 1024);
+        JsonGenerator generator = pool.acquire();
+        generator.writeStartObject().writeField("a").writeNumber(1);
+        pool.release(generator);
+
+        JsonGenerator again = pool.acquire();
+        assertSame(generator, again);
+        assertEquals("", again.getJson());
+        assertEquals("[1]", again.writeStartArray().writeNumber(1).writeEndArray().getJson());
+    }
+
+    @Test
+    void grownGeneratorsAreDropped() {
+        var pool = new JsonGeneratorPool(() -> new FastStringBuilder(16), 1, 64);
+        JsonGenerator generator = pool.acquire();
+        generator.writeString("x".repeat(1000));
+        pool.release(generator);
+        assertNotSame(generator, pool.acquire());
+    }
+
+    @Test
+    void aFullPoolCreatesAndDropsExtras() {
+        var pool = new JsonGeneratorPool(() -> new FastStringBuilder(16), 1, 1024);
+        JsonGenerator first = pool.acquire();
+        JsonGenerator second = pool.acquire();
+        assertNotSame(first, second);
+        pool.release(first);
+        pool.release(second);
+        assertSame(first, pool.acquire());
+        assertNotSame(second, pool.acquire());
+    }
+
+    @Test
+    void aFailedWriteDoesNotLeakIntoTheNextOne() {
+        var broken = new Broken();
+        SerializerManager.registerSerializer(Broken.class, (value, jg) -> {
+            jg.writeStartObject().writeField("partial");
+            throw new IllegalStateException("boom");
+        });
+        assertThrows(IllegalStateException.class, () -> SerializerManager.toJson(broken));
+        assertThrows(IllegalStateException.class, () -> SerializerManager.toJsonBytes(broken));
+        assertEquals("{\"id\":1,\"label\":\"a\"}", SerializerManager.toJson(new Item(1, "a")));
+        assertEquals("{\"id\":1,\"label\":\"a\"}", new String(SerializerManager.toJsonBytes(new Item(1, "a"))));
+    }
+
+    @Test
+    void concurrentWritersGetTheirOwnOutput() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        var item = new Item(i, "thread " + thread);
+                        String expected = "{\"id\":" + i + ",\"label\":\"thread " + thread + "\"}";
+                        if (!expected.equals(SerializerManager.toJson(item)) || !expected.equals(new String(SerializerManager.toJsonBytes(item)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    static class Broken {
+    }
+}
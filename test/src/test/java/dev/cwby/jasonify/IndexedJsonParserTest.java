@@ -0,0 +1,91 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.ArrayHolder;
+import dev.cwby.jasonify.model.Item;
+import dev.cwby.jasonify.reader.IndexedJsonParser;
+import dev.cwby.jasonify.reader.JsonParser;
+import dev.cwby.jasonify.reader.JsonToken;
+import dev.cwby.jasonify.reader.Utf8JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedJsonParserTest {
+
+    private static final String JSON = "{\"a\":[1,[2,3],{\"b\":\"]}[{\"}],\"c\":{\"d\":[[],{}],\"e\":\"\\\"[\"},\"f\":[\"x\",null,true,{}],\"g\":[]}";
+
+    private static List<String> tokens(JsonParser parser) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_DOCUMENT; token = parser.nextToken()) {
+            if (token == JsonToken.START_ARRAY) {
+                tokens.add(token + ":" + parser.countArrayEntries());
+            } else if (token == JsonToken.FIELD_NAME || token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER) {
+                tokens.add(token + ":" + parser.getCurrentValue());
+            } else {
+                tokens.add(token.toString());
+            }
+        }
+        return tokens;
+    }
+
+    @Test
+    void tokensAndCountsMatchTheScanningParser() throws IOException {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        assertEquals(tokens(new Utf8JsonParser(bytes)), tokens(new IndexedJsonParser(bytes)));
+    }
+
+    @Test
+    void readsOnlyTheGivenRange() throws IOException {
+        byte[] bytes = ("[[0]]" + JSON + "{]").getBytes(StandardCharsets.UTF_8);
+        byte[] exact = JSON.getBytes(StandardCharsets.UTF_8);
+        assertEquals(tokens(new Utf8JsonParser(exact)), tokens(new IndexedJsonParser(bytes, 5, exact.length)));
+    }
+
+    @Test
+    void skippingJumpsPastTheContainer() throws IOException {
+        var parser = new IndexedJsonParser(JSON.getBytes(StandardCharsets.UTF_8));
+        parser.nextToken();
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        parser.skipField();
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals("c", parser.getCurrentValue());
+        parser.skipField();
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals("f", parser.getCurrentValue());
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(4, parser.countArrayEntries());
+        assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+        assertEquals("x", parser.getCurrentValue());
+    }
+
+    @Test
+    void deserializesThroughTheIndex() throws IOException {
+        var holder = new ArrayHolder();
+        holder.itemList = new ArrayList<>();
+        holder.ints = new int[20_000];
+        for (int i = 0; i < 20_000; i++) {
+            holder.itemList.add(new Item(i, "label [" + i + "] {\"q\"}"));
+            holder.ints[i] = -i;
+        }
+        byte[] json = SerializerManager.toJsonBytes(holder);
+
+        var read = SerializerManager.fromJson(new IndexedJsonParser(json), ArrayHolder.class);
+        assertEquals(20_000, read.itemList.size());
+        assertEquals("label [19999] {\"q\"}", read.itemList.get(19_999).label);
+        assertArrayEquals(holder.ints, read.ints);
+        assertEquals(SerializerManager.toJson(holder), SerializerManager.toJson(read));
+    }
+
+    @Test
+    void unknownSubtreesAreJumpedOver() throws IOException {
+        String json = "{\"id\":1,\"unknown\":[" + "{\"a\":[1,2,{\"b\":\"]\"}]},".repeat(5000) + "{}],\"label\":\"x\"}";
+        var item = SerializerManager.fromJson(new IndexedJsonParser(json.getBytes(StandardCharsets.UTF_8)), Item.class);
+        assertEquals(1, item.id);
+        assertEquals("x", item.label);
+    }
+}
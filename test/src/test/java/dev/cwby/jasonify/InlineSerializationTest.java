@@ -0,0 +1,43 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Drawing;
+import dev.cwby.jasonify.model.Point;
+import dev.cwby.jasonify.model.Segment;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InlineSerializationTest {
+
+    private static Drawing sample() {
+        var drawing = new Drawing();
+        drawing.origin = new Point(1, 2);
+        drawing.edge = new Segment(new Point(0, 0), null, "e\"1");
+        drawing.points = List.of(new Point(3, 4), new Point(-5, 6));
+        return drawing;
+    }
+
+    private static final String JSON = "{\"origin\":{\"x\":1,\"y\":2},\"edge\":{\"from\":{\"x\":0,\"y\":0},\"to\":null,\"label\":\"e\\\"1\"},"
+            + "\"points\":[{\"x\":3,\"y\":4},{\"x\":-5,\"y\":6}],\"missing\":null}";
+
+    @Test
+    void inlinedFieldsWriteTheSameJsonAsTheirSerializer() {
+        assertEquals(JSON, SerializerManager.toJson(sample()));
+        assertEquals(JSON, new String(SerializerManager.toJsonBytes(sample()), StandardCharsets.UTF_8));
+        assertEquals("{\"x\":1,\"y\":2}", SerializerManager.toJson(new Point(1, 2)));
+        assertEquals("{\"from\":null,\"to\":{\"x\":7,\"y\":8},\"label\":null}", SerializerManager.toJson(new Segment(null, new Point(7, 8), null)));
+    }
+
+    @Test
+    void inlinedValuesReadBack() throws IOException {
+        var read = SerializerManager.fromJson(JSON, Drawing.class);
+        assertEquals(new Point(1, 2), read.origin);
+        assertEquals(new Segment(new Point(0, 0), null, "e\"1"), read.edge);
+        assertEquals(List.of(new Point(3, 4), new Point(-5, 6)), read.points);
+        assertNull(read.missing);
+    }
+}
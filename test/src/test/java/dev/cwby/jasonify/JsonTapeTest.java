@@ -0,0 +1,98 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.reader.JsonTape;
+import dev.cwby.jasonify.reader.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTapeTest {
+
+    private static final String JSON = "{\"name\":\"caf\\u00e9\",\"count\":3,\"big\":9007199254740993,\"ratio\":0.25,"
+            + "\"ok\":true,\"no\":false,\"none\":null,\"tags\":[\"a\",\"b\",\"c\"],\"nested\":{\"deep\":[[1],[2,3]]},"
+            + "\"empty\":{},\"list\":[],\"é漢\":\"😀\"}";
+
+    @Test
+    void readsScalarsByFieldName() {
+        var tape = JsonTape.parse(JSON);
+        int root = tape.root();
+        assertEquals(JsonToken.START_OBJECT, tape.getType(root));
+        assertEquals(12, tape.size(root));
+        assertEquals("café", tape.getString(tape.field(root, "name")));
+        assertEquals(3, tape.getInt(tape.field(root, "count")));
+        assertEquals(9007199254740993L, tape.getLong(tape.field(root, "big")));
+        assertEquals(0.25, tape.getDouble(tape.field(root, "ratio")));
+        assertTrue(tape.getBoolean(tape.field(root, "ok")));
+        assertFalse(tape.getBoolean(tape.field(root, "no")));
+        assertTrue(tape.isNull(tape.field(root, "none")));
+        assertEquals("😀", tape.getString(tape.field(root, "é漢")));
+        assertEquals(-1, tape.field(root, "missing"));
+        assertEquals(-1, tape.field(root, "nam"));
+    }
+
+    @Test
+    void walksContainers() {
+        var tape = JsonTape.parse(JSON.getBytes(StandardCharsets.UTF_8));
+        int root = tape.root();
+
+        int tags = tape.field(root, "tags");
+        assertEquals(3, tape.size(tags));
+        List<String> values = new ArrayList<>();
+        for (int node = tape.first(tags); node >= 0; node = tape.nextSibling(node)) {
+            values.add(tape.getString(node));
+        }
+        assertEquals(List.of("a", "b", "c"), values);
+        assertEquals("c", tape.getString(tape.element(tags, 2)));
+        assertEquals(-1, tape.element(tags, 3));
+        assertEquals(-1, tape.element(tags, -1));
+
+        int deep = tape.field(tape.field(root, "nested"), "deep");
+        assertEquals(2, tape.size(deep));
+        assertEquals(3, tape.getInt(tape.element(tape.element(deep, 1), 1)));
+
+        assertEquals(0, tape.size(tape.field(root, "empty")));
+        assertEquals(-1, tape.first(tape.field(root, "empty")));
+        assertEquals(-1, tape.first(tape.field(root, "list")));
+    }
+
+    @Test
+    void fieldNamesAreVisitedInOrder() {
+        var tape = JsonTape.parse(JSON);
+        List<String> names = new ArrayList<>();
+        for (int node = tape.first(tape.root()); node >= 0; node = tape.nextSibling(node)) {
+            names.add(tape.getString(node));
+        }
+        assertEquals(List.of("name", "count", "big", "ratio", "ok", "no", "none", "tags", "nested", "empty", "list", "é漢"), names);
+    }
+
+    @Test
+    void escapedNamesAreCompared() {
+        var tape = JsonTape.parse("{\"a\\\"b\":1,\"\\u0063\":2}");
+        assertEquals(1, tape.getInt(tape.field(tape.root(), "a\"b")));
+        assertEquals(2, tape.getInt(tape.field(tape.root(), "c")));
+    }
+
+    @Test
+    void scalarDocumentsAndOffsets() {
+        assertEquals("x", JsonTape.parse("\"x\"").getString(0));
+        byte[] bytes = "xx[1,2]yy".getBytes(StandardCharsets.UTF_8);
+        var tape = JsonTape.parse(bytes, 2, 5);
+        assertEquals(2, tape.size(tape.root()));
+        assertEquals(2, tape.getInt(tape.element(tape.root(), 1)));
+    }
+
+    @Test
+    void wrongTypesAndBrokenInputAreRejected() {
+        var tape = JsonTape.parse(JSON);
+        assertThrows(IllegalStateException.class, () -> tape.getInt(tape.field(tape.root(), "name")));
+        assertThrows(IllegalStateException.class, () -> tape.getString(tape.field(tape.root(), "count")));
+        assertThrows(IllegalStateException.class, () -> tape.field(tape.field(tape.root(), "tags"), "a"));
+        assertThrows(IllegalStateException.class, () -> tape.element(tape.root(), 0));
+        assertThrows(IllegalArgumentException.class, () -> JsonTape.parse("{\"a\":[1,2}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonTape.parse("[1,2"));
+    }
+}
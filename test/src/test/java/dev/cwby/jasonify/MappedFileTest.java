@@ -0,0 +1,106 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.ArrayHolder;
+import dev.cwby.jasonify.model.Item;
+import dev.cwby.jasonify.reader.JsonToken;
+import dev.cwby.jasonify.reader.MappedJsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileTest {
+
+    private static Path write(String json) throws IOException {
+        Path file = Files.createTempFile("jasonify", ".json");
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, json);
+    }
+
+    @Test
+    void fromJsonReadsAMappedFile() throws IOException {
+        var holder = new ArrayHolder();
+        holder.names = new String[]{"é漢", "x".repeat(100_000)};
+        holder.ints = new int[]{1, 2, 3};
+        Path file = write(SerializerManager.toJson(holder));
+
+        var read = SerializerManager.fromJson(file, ArrayHolder.class);
+        assertArrayEquals(holder.names, read.names);
+        assertArrayEquals(holder.ints, read.ints);
+    }
+
+    @Test
+    void smallWindowsWalkTheWholeFile() throws IOException {
+        Path file = write("[" + "{\"id\":1,\"label\":\"abcdefghij\"},".repeat(1000) + "{}]");
+        int objects = 0;
+        try (var parser = new MappedJsonParser(file, 16)) {
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_DOCUMENT; token = parser.nextToken()) {
+                if (token == JsonToken.START_OBJECT) {
+                    objects++;
+                }
+            }
+        }
+        assertEquals(1001, objects);
+    }
+
+    @Test
+    void iteratesATopLevelArray() throws IOException {
+        var json = new StringBuilder("[");
+        for (int i = 0; i < 500; i++) {
+            json.append(i == 0 ? "" : ",").append(SerializerManager.toJson(new Item(i, "item " + i)));
+        }
+        Path file = write(json.append("]").toString());
+
+        List<Item> items = new ArrayList<>();
+        try (var iterator = SerializerManager.iterateJsonArray(file, Item.class)) {
+            iterator.forEachRemaining(items::add);
+            assertFalse(iterator.hasNext());
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+        assertEquals(500, items.size());
+        assertEquals(499, items.get(499).id);
+        assertEquals("item 250", items.get(250).label);
+    }
+
+    @Test
+    void iteratingSomethingElseThanAnArrayFails() throws IOException {
+        Path file = write("{\"id\":1}");
+        assertThrows(IllegalStateException.class, () -> SerializerManager.iterateJsonArray(file, Item.class));
+    }
+
+    @Test
+    void nullElementsComeOutAsNull() throws IOException {
+        List<Item> items = new ArrayList<>();
+        try (var iterator = SerializerManager.iterateJsonArray(write("[null,{\"id\":2},null]"), Item.class)) {
+            iterator.forEachRemaining(items::add);
+        }
+        assertEquals(3, items.size());
+        assertNull(items.get(0));
+        assertEquals(2, items.get(1).id);
+        assertNull(items.get(2));
+    }
+
+    @Test
+    void elementsThatAreNotObjectsFail() throws IOException {
+        for (String json : List.of("[1,{\"id\":2}]", "[{\"id\":1},\"x\"]", "[[{\"id\":1}]]", "[{\"id\":1}")) {
+            try (var iterator = SerializerManager.iterateJsonArray(write(json), Item.class)) {
+                var e = assertThrows(IllegalStateException.class, () -> iterator.forEachRemaining(item -> {
+                }), json);
+                assertTrue(e.getMessage().startsWith("expected an object or null array element"), e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    void emptyArrayHasNoElements() throws IOException {
+        try (var iterator = SerializerManager.iterateJsonArray(write(" [ ] "), Item.class)) {
+            assertFalse(iterator.hasNext());
+        }
+    }
+}
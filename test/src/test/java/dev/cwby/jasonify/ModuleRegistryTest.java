@@ -0,0 +1,24 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Item;
+import dev.cwby.jasonify.serializer.IJsonRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ServiceLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModuleRegistryTest {
+
+    @Test
+    void defaultRegistryNameIsUniqueToTheModuleTypes() {
+        var registry = ServiceLoader.load(IJsonRegistry.class).stream()
+                .filter(provider -> provider.type().getPackageName().equals("dev.cwby.jasonify.model"))
+                .findFirst().orElseThrow().get();
+
+        assertTrue(registry.getClass().getSimpleName().matches("JasonifyRegistry_[0-9a-f]+"), registry.getClass().getName());
+        assertNotNull(registry.serializer(Item.class.getCanonicalName()));
+        assertNotNull(registry.deserializer(Item.class.getCanonicalName()));
+        assertNull(registry.serializer("dev.cwby.jasonify.model.Missing"));
+    }
+}
@@ -0,0 +1,46 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Item;
+import dev.cwby.jasonify.model.Wrapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NestedSerializationTest {
+
+    @Test
+    void getterIsCalledOnce() {
+        var wrapper = new Wrapper();
+        wrapper.item = new Item(1, "a");
+        assertEquals("{\"item\":{\"id\":1,\"label\":\"a\"},\"byName\":{}}", SerializerManager.toJson(wrapper));
+        assertEquals(1, wrapper.reads());
+    }
+
+    @Test
+    void nullNestedValuesAreWrittenAsNull() throws IOException {
+        var wrapper = new Wrapper();
+        wrapper.byName = new LinkedHashMap<>();
+        wrapper.byName.put("x", new Item(2, "b"));
+        wrapper.byName.put("y", null);
+        String json = SerializerManager.toJson(wrapper);
+        assertEquals("{\"item\":null,\"byName\":{\"x\":{\"id\":2,\"label\":\"b\"},\"y\":null}}", json);
+
+        var read = SerializerManager.fromJson(json, Wrapper.class);
+        assertNull(read.item);
+        assertEquals("b", read.byName.get("x").label);
+    }
+
+    @Test
+    void subclassesGoThroughTheirOwnSerializer() {
+        var wrapper = new Wrapper();
+        wrapper.item = new SpecialItem();
+        SerializerManager.registerSerializer(SpecialItem.class, (value, jg) -> jg.writeString("custom"));
+        assertEquals("{\"item\":\"custom\",\"byName\":{}}", SerializerManager.toJson(wrapper));
+    }
+
+    static class SpecialItem extends Item {
+    }
+}
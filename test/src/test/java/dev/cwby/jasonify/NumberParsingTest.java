@@ -0,0 +1,130 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.reader.CharJsonParser;
+import dev.cwby.jasonify.reader.JsonParser;
+import dev.cwby.jasonify.reader.JsonToken;
+import dev.cwby.jasonify.reader.Utf8JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberParsingTest {
+
+    private static final String[] HARD_DOUBLES = {
+            "0", "-0", "0.0", "-0.0", "1", "-1", "0.1", "0.3", "1e0", "1E+2", "1e-2",
+            // smallest subnormal, largest subnormal, smallest normal
+            "4.9e-324", "5e-324", "2.2250738585072009e-308", "2.2250738585072011e-308", "2.2250738585072014e-308",
+            // 2^53 + 1 rounds to even
+            "9007199254740993", "9007199254740992", "9007199254740991", "-9007199254740993",
+            // halfway cases
+            "9007199254740993.0000000000000000001", "1.00000000000000011102230246251565404236316680908203125",
+            // overflow and underflow
+            "1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308", "1e309", "-1e400",
+            "2.4703282292062327e-324", "2.4703282292062328e-324", "1e-400", "-1e-400",
+            // more digits than a long holds
+            "1234567890123456789", "12345678901234567890", "123456789012345678901234567890",
+            "0.12345678901234567890123", "3.141592653589793238462643383279", "99999999999999999999e-20",
+            "18446744073709551615", "18446744073709551616e10", "0.000000000000000000000000012345678901234567890",
+    };
+
+    @Test
+    void hardDoublesMatchTheJdk() throws IOException {
+        for (String number : HARD_DOUBLES) {
+            assertDouble(number);
+        }
+    }
+
+    @Test
+    void hardFloatsMatchTheJdk() throws IOException {
+        String[] floats = {"1.4e-45", "7e-46", "1.17549435e-38", "3.4028235e38", "3.4028236e38", "1e39", "-1e-50",
+                "16777217", "16777216", "0.1", "1.00000005960464477539062500001", "123456789012345678901234567890"};
+        for (String number : floats) {
+            assertFloat(number);
+        }
+        for (String number : HARD_DOUBLES) {
+            assertFloat(number);
+        }
+    }
+
+    @Test
+    void integersAtTheirLimits() throws IOException {
+        String[] longs = {"0", "-0", "9223372036854775807", "-9223372036854775808", "4294967296", "-1"};
+        for (String number : longs) {
+            assertEquals(Long.parseLong(number), utf8(number).getCurrentValueLong(), number);
+            assertEquals(Long.parseLong(number), chars(number).getCurrentValueLong(), number);
+        }
+        String[] ints = {"0", "2147483647", "-2147483648", "123", "-987654"};
+        for (String number : ints) {
+            assertEquals(Integer.parseInt(number), utf8(number).getCurrentValueInteger(), number);
+            assertEquals(Integer.parseInt(number), chars(number).getCurrentValueInteger(), number);
+        }
+    }
+
+    @Test
+    void randomDoublesMatchTheJdk() throws IOException {
+        var random = new Random(20241018L);
+        for (int i = 0; i < 20_000; i++) {
+            double value = switch (i % 4) {
+                case 0 -> Double.longBitsToDouble(random.nextLong());
+                case 1 -> random.nextDouble() * Math.pow(10, random.nextInt(40) - 20);
+                case 2 -> random.nextLong() / 1000.0;
+                default -> Float.intBitsToFloat(random.nextInt());
+            };
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                continue;
+            }
+            assertDouble(Double.toString(value));
+            assertFloat(Double.toString(value));
+            assertDouble(randomDigits(random));
+        }
+    }
+
+    private static String randomDigits(Random random) {
+        var sb = new StringBuilder();
+        if (random.nextBoolean()) {
+            sb.append('-');
+        }
+        sb.append(1 + random.nextInt(9));
+        int digits = random.nextInt(25);
+        for (int i = 0; i < digits; i++) {
+            sb.append(random.nextInt(10));
+        }
+        if (random.nextBoolean()) {
+            sb.append('.').append(random.nextInt(1_000_000));
+        }
+        if (random.nextBoolean()) {
+            sb.append('e').append(random.nextInt(700) - 350);
+        }
+        return sb.toString();
+    }
+
+    private static void assertDouble(String number) throws IOException {
+        long expected = Double.doubleToRawLongBits(Double.parseDouble(number));
+        assertEquals(expected, Double.doubleToRawLongBits(utf8(number).getCurrentValueDouble()), number);
+        assertEquals(expected, Double.doubleToRawLongBits(chars(number).getCurrentValueDouble()), number);
+    }
+
+    private static void assertFloat(String number) throws IOException {
+        int expected = Float.floatToRawIntBits(Float.parseFloat(number));
+        assertEquals(expected, Float.floatToRawIntBits(utf8(number).getCurrentValueFloat()), number);
+        assertEquals(expected, Float.floatToRawIntBits(chars(number).getCurrentValueFloat()), number);
+    }
+
+    private static JsonParser utf8(String number) throws IOException {
+        return atNumber(new Utf8JsonParser(("[" + number + "]").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static JsonParser chars(String number) throws IOException {
+        return atNumber(new CharJsonParser("[" + number + "]"));
+    }
+
+    private static JsonParser atNumber(JsonParser parser) throws IOException {
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.VALUE_NUMBER, parser.nextToken());
+        return parser;
+    }
+}
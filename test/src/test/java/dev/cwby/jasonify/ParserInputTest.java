@@ -0,0 +1,44 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Item;
+import dev.cwby.jasonify.reader.CharJsonParser;
+import dev.cwby.jasonify.reader.JsonParser;
+import dev.cwby.jasonify.reader.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParserInputTest {
+
+    private static final String JSON = "{\"id\":42,\"label\":\"caf\\u00e9 漢 \\\"q\\\"\"}";
+
+    @Test
+    void bytesAndStringsReadTheSameValue() throws IOException {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        var fromString = SerializerManager.fromJson(JSON, Item.class);
+        var fromBytes = SerializerManager.fromJson(bytes, Item.class);
+
+        assertEquals(42, fromBytes.id);
+        assertEquals("café 漢 \"q\"", fromBytes.label);
+        assertEquals(fromString.label, fromBytes.label);
+    }
+
+    @Test
+    void bytesAreReadFromAnOffset() throws IOException {
+        byte[] padded = ("xx" + JSON + "yy").getBytes(StandardCharsets.UTF_8);
+        var item = SerializerManager.fromJson(padded, 2, padded.length - 4, Item.class);
+        assertEquals(42, item.id);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    void deprecatedFactoryReturnsTheStringParser() throws IOException {
+        JsonParser parser = JsonParser.of(JSON);
+        assertInstanceOf(CharJsonParser.class, parser);
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(42, SerializerManager.fromJson(JsonParser.of(JSON), Item.class).id);
+    }
+}
@@ -0,0 +1,38 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.reader.CharJsonParser;
+import dev.cwby.jasonify.reader.JsonParser;
+import dev.cwby.jasonify.reader.JsonToken;
+import dev.cwby.jasonify.reader.Utf8JsonParser;
+import dev.cwby.jasonify.reader.Utf8StreamJsonParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// parser fixtures shared by the reader tests
+final class Parsers {
+
+    private Parsers() {
+    }
+
+    // one parser per input mode over the same json, the stream one refills a 16 byte window
+    static List<JsonParser> all(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return List.of(new CharJsonParser(json), new Utf8JsonParser(bytes), new Utf8StreamJsonParser(new ByteArrayInputStream(bytes), 16));
+    }
+
+    // every token up to the end of the document, with the value of names, strings, numbers and booleans
+    static List<String> tokens(JsonParser parser) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_DOCUMENT; token = parser.nextToken()) {
+            tokens.add(switch (token) {
+                case FIELD_NAME, VALUE_STRING, VALUE_NUMBER, VALUE_BOOLEAN -> token + ":" + parser.getCurrentValue();
+                default -> token.toString();
+            });
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,83 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Primitives;
+import dev.cwby.jasonify.writer.FastByteBuilder;
+import dev.cwby.jasonify.writer.JsonGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveWritersTest {
+
+    private static final long[] LONGS = {0, 1, -1, 9, 10, 99, 100, -100, 12345, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            Long.MAX_VALUE, Long.MIN_VALUE, 1_000_000_000_000L, -999_999_999_999_999_999L};
+    private static final double[] DOUBLES = {0.0, -0.0, 1.0, -1.0, 0.1, 1e7, 1e-3, 9.99e-4, 123456789.0, 1e22, 1e23,
+            Double.MIN_VALUE, Double.MAX_VALUE, Math.PI, 4.35, 2.0e15, -7.5e-300};
+
+    // one generator per buffer type, both must write what String.valueOf writes
+    private static void assertWrites(String expected, java.util.function.Consumer<JsonGenerator> write) {
+        var chars = new JsonGenerator();
+        write.accept(chars);
+        assertEquals(expected, chars.getJson());
+
+        var bytes = new FastByteBuilder(4);
+        write.accept(new JsonGenerator(bytes));
+        assertEquals(expected, new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void integersMatchStringValueOf() {
+        for (long value : LONGS) {
+            assertWrites(String.valueOf(value), jg -> jg.writeNumber(value));
+            assertWrites(String.valueOf((int) value), jg -> jg.writeNumber((int) value));
+        }
+    }
+
+    @Test
+    void floatingPointMatchesStringValueOf() {
+        for (double value : DOUBLES) {
+            assertWrites(String.valueOf(value), jg -> jg.writeNumber(value));
+            assertWrites(String.valueOf((float) value), jg -> jg.writeNumber((float) value));
+        }
+    }
+
+    @Test
+    void boxedNumbersAndBooleans() {
+        assertWrites("[1,2,3.5,4.5,7,null,true,false]", jg -> jg.writeStartArray().writeNumber(Integer.valueOf(1)).writeNumber(Long.valueOf(2))
+                .writeNumber(Double.valueOf(3.5)).writeNumber(Float.valueOf(4.5f)).writeNumber(new BigDecimal("7"))
+                .writeNumber((Number) null).writeBoolean(true).writeBoolean(false).writeEndArray());
+    }
+
+    @Test
+    void primitiveFieldsRoundTrip() throws IOException {
+        var value = new Primitives();
+        value.anInt = -42;
+        value.aLong = Long.MIN_VALUE;
+        value.aFloat = 0.1f;
+        value.aDouble = 1e-300;
+        value.aBoolean = true;
+        value.boxedLong = 5L;
+        value.boxedDouble = 2.5;
+        value.bytes = new byte[]{0, 1, -1, 127};
+
+        String json = SerializerManager.toJson(value);
+        assertEquals("{\"anInt\":-42,\"aLong\":-9223372036854775808,\"aFloat\":0.1,\"aDouble\":1.0E-300,\"aBoolean\":true,"
+                + "\"boxedInt\":null,\"boxedLong\":5,\"boxedDouble\":2.5,\"bytes\":\"AAH/fw==\"}", json);
+        assertEquals(json, new String(SerializerManager.toJsonBytes(value), StandardCharsets.UTF_8));
+
+        var read = SerializerManager.fromJson(json, Primitives.class);
+        assertEquals(value.anInt, read.anInt);
+        assertEquals(value.aLong, read.aLong);
+        assertEquals(value.aFloat, read.aFloat);
+        assertEquals(value.aDouble, read.aDouble);
+        assertTrue(read.aBoolean);
+        assertNull(read.boxedInt);
+        assertEquals(Long.valueOf(5), read.boxedLong);
+        assertEquals(Double.valueOf(2.5), read.boxedDouble);
+        assertArrayEquals(value.bytes, read.bytes);
+    }
+}
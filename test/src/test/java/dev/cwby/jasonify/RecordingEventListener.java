@@ -0,0 +1,40 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.reader.JsonParser;
+import dev.cwby.jasonify.reader.JsonToken;
+import dev.cwby.jasonify.serializer.IJsonEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// registered for the test run through META-INF/services, records the events of the current thread
+public class RecordingEventListener implements IJsonEventListener {
+
+    private static final ThreadLocal<List<String>> EVENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    static List<String> drain() {
+        List<String> events = List.copyOf(EVENTS.get());
+        EVENTS.get().clear();
+        return events;
+    }
+
+    @Override
+    public void bufferGrown(int oldCapacity, int newCapacity) {
+        EVENTS.get().add("grown " + oldCapacity + " -> " + newCapacity);
+    }
+
+    @Override
+    public void fieldSkipped(JsonParser parser) {
+        EVENTS.get().add("skipped " + parser.getCurrentValue());
+    }
+
+    @Override
+    public void unexpectedToken(JsonParser parser, JsonToken expected) {
+        EVENTS.get().add("unexpected " + parser.getCurrentToken() + " for " + expected);
+    }
+
+    @Override
+    public void parseError(JsonParser parser, RuntimeException error) {
+        EVENTS.get().add("error " + error.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,48 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Item;
+import dev.cwby.jasonify.serializer.IJsonSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistryTest {
+
+    @Test
+    void generatedSerializersAreFoundByClassAndName() {
+        IJsonSerializer<Item> byClass = SerializerManager.getSerializer(Item.class);
+        assertNotNull(byClass);
+        assertSame(byClass, SerializerManager.getSerializer(Item.class.getCanonicalName()));
+        assertNotNull(SerializerManager.getDeserializer(Item.class));
+    }
+
+    @Test
+    void unknownClassesHaveNoSerializer() {
+        assertNull(SerializerManager.getSerializer(Plain.class));
+        assertNull(SerializerManager.getSerializer("dev.cwby.jasonify.DoesNotExist"));
+    }
+
+    @Test
+    void registrationByNameReplacesAnEarlierLookup() {
+        assertNull(SerializerManager.getSerializer(ByName.class));
+        SerializerManager.registerSerializer(ByName.class.getCanonicalName(), (value, jg) -> jg.writeString("by name"));
+        assertEquals("\"by name\"", SerializerManager.toJson(new ByName()));
+    }
+
+    @Test
+    void registrationByClassReplacesAnEarlierLookup() {
+        assertNull(SerializerManager.getSerializer(ByClass.class));
+        SerializerManager.registerSerializer(ByClass.class, (value, jg) -> jg.writeString("by class"));
+        assertEquals("\"by class\"", SerializerManager.toJson(new ByClass()));
+        assertNotNull(SerializerManager.getSerializer(ByClass.class.getCanonicalName()));
+    }
+
+    static class Plain {
+    }
+
+    static class ByName {
+    }
+
+    static class ByClass {
+    }
+}
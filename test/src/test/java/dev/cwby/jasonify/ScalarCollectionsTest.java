@@ -0,0 +1,71 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.ScalarCollections;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalarCollectionsTest {
+
+    private static ScalarCollections sample() {
+        var value = new ScalarCollections();
+        value.ints = Arrays.asList(1, null, -3, Integer.MAX_VALUE);
+        value.longs = List.of(Long.MIN_VALUE, 0L, 42L);
+        value.doubles = Arrays.asList(0.5, null, -1e300);
+        value.floats = List.of(0.1f, 2.5f);
+        value.flags = Arrays.asList(true, null, false);
+        value.strings = Arrays.asList("a", null, "\"c\"");
+        value.longArray = new long[]{Long.MAX_VALUE, -1};
+        value.doubleArray = new double[]{Math.PI, -0.0};
+        value.floatArray = new float[]{1.5f};
+        value.booleanArray = new boolean[]{true, false, true};
+        value.boxedFlags = new Boolean[]{null, true};
+        value.boxedLongs = new Long[]{1L, null};
+        value.boxedDoubles = new Double[]{null, 2.25};
+        return value;
+    }
+
+    @Test
+    void writesElementsWithThePrimitiveWriters() {
+        assertEquals("{\"ints\":[1,null,-3,2147483647],\"longs\":[-9223372036854775808,0,42],\"doubles\":[0.5,null,-1.0E300],"
+                + "\"floats\":[0.1,2.5],\"flags\":[true,null,false],\"strings\":[\"a\",null,\"\\\"c\\\"\"],"
+                + "\"longArray\":[9223372036854775807,-1],\"doubleArray\":[3.141592653589793,-0.0],\"floatArray\":[1.5],"
+                + "\"booleanArray\":[true,false,true],\"boxedFlags\":[null,true],\"boxedLongs\":[1,null],\"boxedDoubles\":[null,2.25]}",
+                SerializerManager.toJson(sample()));
+    }
+
+    @Test
+    void readsBackTypedElements() throws IOException {
+        var expected = sample();
+        String json = SerializerManager.toJson(expected);
+        for (var read : List.of(SerializerManager.fromJson(json, ScalarCollections.class),
+                SerializerManager.fromJson(json.getBytes(StandardCharsets.UTF_8), ScalarCollections.class))) {
+            assertEquals(expected.ints, read.ints);
+            assertEquals(expected.longs, read.longs);
+            assertEquals(expected.doubles, read.doubles);
+            assertEquals(expected.floats, read.floats);
+            assertEquals(expected.flags, read.flags);
+            assertEquals(expected.strings, read.strings);
+            assertArrayEquals(expected.longArray, read.longArray);
+            assertArrayEquals(expected.doubleArray, read.doubleArray);
+            assertArrayEquals(expected.floatArray, read.floatArray);
+            assertArrayEquals(expected.booleanArray, read.booleanArray);
+            assertArrayEquals(expected.boxedFlags, read.boxedFlags);
+            assertArrayEquals(expected.boxedLongs, read.boxedLongs);
+            assertArrayEquals(expected.boxedDoubles, read.boxedDoubles);
+        }
+    }
+
+    @Test
+    void emptyCollectionsStayEmpty() throws IOException {
+        var read = SerializerManager.fromJson("{\"ints\":[],\"longArray\":[],\"strings\":[]}", ScalarCollections.class);
+        assertEquals(List.of(), read.ints);
+        assertEquals(List.of(), read.strings);
+        assertEquals(0, read.longArray.length);
+    }
+}
@@ -0,0 +1,68 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Renamed;
+import dev.cwby.jasonify.writer.FastByteBuilder;
+import dev.cwby.jasonify.writer.JsonGenerator;
+import dev.cwby.jasonify.writer.SerializedName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializedNameTest {
+
+    private static final SerializedName A = new SerializedName("a");
+    private static final SerializedName ESCAPED = new SerializedName("tab\there \"é\"");
+    private static final SerializedName OPEN_A = SerializedName.objectStart("a");
+
+    private static void assertWrites(String expected, Consumer<JsonGenerator> write) {
+        var chars = new JsonGenerator();
+        write.accept(chars);
+        assertEquals(expected, chars.getJson());
+
+        var bytes = new FastByteBuilder();
+        write.accept(new JsonGenerator(bytes));
+        assertEquals(expected, new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void namesAreWrittenLikeStringNames() {
+        String expected = "{\"a\":1,\"tab\\there \\\"é\\\"\":2}";
+        assertWrites(expected, jg -> jg.writeStartObject().writeField("a").writeNumber(1).writeField("tab\there \"é\"").writeNumber(2).writeEndObject());
+        assertWrites(expected, jg -> jg.writeStartObject().writeField(A).writeNumber(1).writeField(ESCAPED).writeNumber(2).writeEndObject());
+    }
+
+    @Test
+    void objectStartOpensTheObjectWithItsFirstField() {
+        assertWrites("[{\"a\":1},{\"a\":2}]", jg -> jg.writeStartArray()
+                .writeStartObject(OPEN_A).writeNumber(1).writeEndObject()
+                .writeStartObject(OPEN_A).writeNumber(2).writeEndObject()
+                .writeEndArray());
+        assertWrites("{\"x\":{\"a\":true},\"y\":null}", jg -> jg.writeStartObject().writeField("x")
+                .writeStartObject(OPEN_A).writeBoolean(true).writeEndObject()
+                .writeField("y").writeNull().writeEndObject());
+    }
+
+    @Test
+    void keepsTheUnescapedValue() {
+        assertEquals("tab\there \"é\"", ESCAPED.getValue());
+    }
+
+    @Test
+    void renamedFieldsRoundTrip() throws IOException {
+        var value = new Renamed();
+        value.firstName = "Ana";
+        value.quoted = "hi";
+        value.number = 3;
+
+        String json = SerializerManager.toJson(value);
+        assertEquals("{\"first-name\":\"Ana\",\"say \\\"hi\\\"\":\"hi\",\"número\":3}", json);
+        var read = SerializerManager.fromJson(json.getBytes(StandardCharsets.UTF_8), Renamed.class);
+        assertEquals("Ana", read.firstName);
+        assertEquals("hi", read.quoted);
+        assertEquals(3, read.number);
+    }
+}
@@ -0,0 +1,108 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.reader.JsonParser;
+import dev.cwby.jasonify.reader.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkipChildrenTest {
+
+    // skips the value of "skip" and checks the parser lands on the "after" field
+    private static void assertSkips(String value) throws IOException {
+        String json = "{\"skip\":" + value + ",\"after\":\"ok\"}";
+        for (JsonParser parser : Parsers.all(json)) {
+            parser.nextToken();
+            parser.nextToken();
+            parser.skipField();
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken(), parser.getClass().getSimpleName() + " " + value);
+            assertEquals("after", parser.getCurrentValue());
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("ok", parser.getCurrentValue());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        }
+    }
+
+    @Test
+    void skipsScalarsAndEmptyContainers() throws IOException {
+        for (String value : List.of("1", "-2.5e10", "true", "null", "\"s\"", "{}", "[]", "[[]]", "{\"a\":{}}")) {
+            assertSkips(value);
+        }
+    }
+
+    @Test
+    void bracketsAndQuotesInsideStringsAreIgnored() throws IOException {
+        assertSkips("{\"a\":\"}]}]\",\"b\":[\"[[{\"]}");
+        assertSkips("[\"\\\"]\", \"\\\\\", \"\\\\\\\"}\"]");
+        assertSkips("{\"k\\\"}\":\"v\\\\\"}");
+        assertSkips("[\"é漢😀 ]}\", {\"\\u005d\":\"\\u007d\"}]");
+    }
+
+    @Test
+    void quotesAtEveryBlockPosition() throws IOException {
+        for (int padding = 0; padding < 20; padding++) {
+            String pad = "x".repeat(padding);
+            assertSkips("[\"" + pad + "\\\\\",\"" + pad + "\\\"]\"]");
+            assertSkips("{\"" + pad + "\":[" + "1,".repeat(padding) + "{}]}");
+        }
+    }
+
+    @Test
+    void deepAndLongSubtrees() throws IOException {
+        assertSkips("[".repeat(500) + "]".repeat(500));
+        assertSkips("[" + "{\"a\":[1,2,\"}\"]},".repeat(2000) + "{}]");
+    }
+
+    @Test
+    void randomSubtreesAreSkipped() throws IOException {
+        var random = new Random(23L);
+        for (int i = 0; i < 500; i++) {
+            var sb = new StringBuilder();
+            randomValue(random, sb, 0);
+            assertSkips(sb.toString());
+        }
+    }
+
+    private static void randomValue(Random random, StringBuilder sb, int depth) {
+        int kind = depth > 5 ? random.nextInt(3) : random.nextInt(5);
+        switch (kind) {
+            case 0 -> sb.append(random.nextInt(1000) - 500);
+            case 1 -> sb.append(random.nextBoolean() ? "null" : "true");
+            case 2 -> randomString(random, sb);
+            case 3 -> {
+                sb.append('[');
+                int size = random.nextInt(4);
+                for (int j = 0; j < size; j++) {
+                    sb.append(j == 0 ? "" : ",");
+                    randomValue(random, sb, depth + 1);
+                }
+                sb.append(']');
+            }
+            default -> {
+                sb.append('{');
+                int size = random.nextInt(4);
+                for (int j = 0; j < size; j++) {
+                    sb.append(j == 0 ? "" : ",");
+                    randomString(random, sb);
+                    sb.append(':');
+                    randomValue(random, sb, depth + 1);
+                }
+                sb.append('}');
+            }
+        }
+    }
+
+    private static void randomString(Random random, StringBuilder sb) {
+        String[] pieces = {"a", "{", "}", "[", "]", "\\\"", "\\\\", ",", ":", "é", " "};
+        sb.append('"');
+        int length = random.nextInt(12);
+        for (int j = 0; j < length; j++) {
+            sb.append(pieces[random.nextInt(pieces.length)]);
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,64 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.ArrayHolder;
+import dev.cwby.jasonify.model.Item;
+import dev.cwby.jasonify.reader.Utf8JsonParser;
+import dev.cwby.jasonify.reader.Utf8StreamJsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingInputTest {
+
+    private static final String JSON = "{\"names\":[\"a\",\"é漢😀 \\\"q\\\" \\u00e9\",\"" + "long ".repeat(40) + "\"],"
+            + "\"ints\":[1,-22,333,-4444,55555],\"itemList\":[{\"id\":1,\"label\":\"one\"},{\"label\":\"two\",\"id\":2}],"
+            + "\"unknown\":{\"deep\":[[1,2],{\"x\":null}]},\"items\":null}";
+
+    // hands out at most a few bytes per read so tokens and characters are split across refills
+    private static InputStream trickle(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)) {
+            private int calls;
+
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1 + calls++ % 3));
+            }
+        };
+    }
+
+    @Test
+    void smallReadsGiveTheSameTokensAsAnArray() throws IOException {
+        var expected = Parsers.tokens(new Utf8JsonParser(JSON.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(expected, Parsers.tokens(new Utf8StreamJsonParser(trickle(JSON), 16)));
+        assertEquals(expected, Parsers.tokens(new Utf8StreamJsonParser(Channels.newChannel(trickle(JSON)), 16)));
+    }
+
+    @Test
+    void numbersAreReadAcrossRefills() throws IOException {
+        var parser = new Utf8StreamJsonParser(trickle("[123456789012, 2.5e-3]"), 16);
+        parser.nextToken();
+        parser.nextToken();
+        assertEquals(123456789012L, parser.getCurrentValueLong());
+        parser.nextToken();
+        assertEquals(2.5e-3, parser.getCurrentValueDouble());
+    }
+
+    @Test
+    void fromJsonReadsAStream() throws IOException {
+        var holder = SerializerManager.fromJson(trickle(JSON), ArrayHolder.class);
+        assertArrayEquals(new int[]{1, -22, 333, -4444, 55555}, holder.ints);
+        assertEquals("é漢😀 \"q\" é", holder.names[1]);
+        assertEquals("long ".repeat(40), holder.names[2]);
+        assertEquals(2, holder.itemList.size());
+        Item second = holder.itemList.get(1);
+        assertEquals(2, second.id);
+        assertEquals("two", second.label);
+        assertNull(holder.items);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.ArrayHolder;
+import dev.cwby.jasonify.model.Item;
+import dev.cwby.jasonify.writer.JsonGenerator;
+import dev.cwby.jasonify.writer.StreamingByteBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingOutputTest {
+
+    private static ArrayHolder document() {
+        var holder = new ArrayHolder();
+        holder.names = new String[]{"plain", "escaped \"\\\n\t", "unicode é 漢 😀", "x".repeat(5000)};
+        holder.ints = new int[]{Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE};
+        holder.itemList = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            holder.itemList.add(new Item(i, "item " + i));
+        }
+        return holder;
+    }
+
+    @Test
+    void outputStreamMatchesTheStringOutput() throws IOException {
+        var out = new ByteArrayOutputStream();
+        SerializerManager.toJson(document(), out);
+        assertEquals(SerializerManager.toJson(document()), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void channelMatchesTheStringOutput() throws IOException {
+        var out = new ByteArrayOutputStream();
+        SerializerManager.toJson(document(), Channels.newChannel(out));
+        assertEquals(SerializerManager.toJson(document()), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void smallBuffersFlushAsTheyFill() throws IOException {
+        var out = new ByteArrayOutputStream();
+        int[] writes = new int[1];
+        var counting = new OutputStream() {
+            @Override
+            public void write(int b) {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                assertTrue(len <= 64, "wrote " + len + " bytes at once");
+                writes[0]++;
+                out.write(b, off, len);
+            }
+        };
+        try (var buffer = new StreamingByteBuilder(counting, 64)) {
+            SerializerManager.appendToWriter(document(), new JsonGenerator(buffer));
+        }
+        assertEquals(SerializerManager.toJson(document()), out.toString(StandardCharsets.UTF_8));
+        assertTrue(writes[0] > 100);
+    }
+
+    @Test
+    void writeErrorsSurfaceAsIOException() {
+        var failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        var e = assertThrows(IOException.class, () -> SerializerManager.toJson(document(), failing));
+        assertEquals("disk full", e.getMessage());
+    }
+}
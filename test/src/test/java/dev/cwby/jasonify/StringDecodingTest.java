@@ -0,0 +1,98 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.reader.JsonParser;
+import dev.cwby.jasonify.reader.JsonToken;
+import dev.cwby.jasonify.writer.JsonGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDecodingTest {
+
+    private static void assertDecodes(String expected, String body) throws IOException {
+        for (JsonParser parser : Parsers.all("[\"" + body + "\"]")) {
+            parser.nextToken();
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals(expected, parser.getCurrentValue(), parser.getClass().getSimpleName() + " " + body);
+        }
+    }
+
+    @Test
+    void plainStringsAreCutFromTheInput() throws IOException {
+        assertDecodes("", "");
+        assertDecodes("abc", "abc");
+        assertDecodes("é漢😀", "é漢😀");
+        assertDecodes("x".repeat(1000), "x".repeat(1000));
+    }
+
+    @Test
+    void escapesAreResolved() throws IOException {
+        assertDecodes("\" \\ / \b \f \n \r \t", "\\\" \\\\ \\/ \\b \\f \\n \\r \\t");
+        assertDecodes("é", "\\u00e9");
+        assertDecodes("é", "\\u00E9");
+        assertDecodes("\u0000", "\\u0000");
+        assertDecodes("😀", "\\ud83d\\ude00");
+        assertDecodes("é漢 mixed 😀 \"", "é漢 mixed \\uD83D\\uDE00 \\\"");
+        assertDecodes("x".repeat(100) + "\n", "x".repeat(100) + "\\n");
+    }
+
+    @Test
+    void escapedNamesCompareByTheirValue() throws IOException {
+        for (JsonParser parser : Parsers.all("{\"\\u0061b\":1,\"caf\\u00e9\":2}")) {
+            parser.nextToken();
+            parser.nextToken();
+            assertTrue(parser.currentNameEquals("ab"));
+            assertEquals("ab".hashCode(), parser.getCurrentNameHash());
+            parser.nextToken();
+            parser.nextToken();
+            assertTrue(parser.currentNameEquals("café"));
+            assertFalse(parser.currentNameEquals("cafe"));
+            assertEquals("café".hashCode(), parser.getCurrentNameHash());
+        }
+    }
+
+    @Test
+    void invalidEscapesAreRejected() {
+        for (String body : List.of("\\x", "\\u00g0", "\\u12")) {
+            for (JsonParser parser : Parsers.all("[\"" + body + "\"]")) {
+                assertThrows(IllegalArgumentException.class, () -> {
+                    parser.nextToken();
+                    parser.nextToken();
+                    parser.getCurrentValue();
+                }, body);
+            }
+        }
+    }
+
+    @Test
+    void writtenStringsReadBack() throws IOException {
+        var random = new Random(12L);
+        for (int i = 0; i < 2000; i++) {
+            var sb = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                int kind = random.nextInt(10);
+                if (kind == 0) {
+                    sb.append((char) random.nextInt(0x20));
+                } else if (kind == 1) {
+                    sb.appendCodePoint(0x1F300 + random.nextInt(500));
+                } else if (kind == 2) {
+                    sb.append("\"\\/".charAt(random.nextInt(3)));
+                } else {
+                    sb.append((char) (0x20 + random.nextInt(0x700)));
+                }
+            }
+            String value = sb.toString();
+            String json = new JsonGenerator().writeStartArray().writeString(value).writeEndArray().getJson();
+            for (JsonParser parser : Parsers.all(json)) {
+                parser.nextToken();
+                parser.nextToken();
+                assertEquals(value, parser.getCurrentValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package dev.cwby.jasonify;
+
+import dev.cwby.jasonify.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteToTest {
+
+    private static Item document() {
+        return new Item(7, "x".repeat(640) + " é漢 \"quoted\"");
+    }
+
+    @Test
+    void writesAtAnOffsetWithRoomToSpare() {
+        byte[] expected = SerializerManager.toJsonBytes(document());
+        byte[] dest = new byte[expected.length + 10];
+        Arrays.fill(dest, (byte) '#');
+
+        assertEquals(expected.length, SerializerManager.writeTo(document(), dest, 5));
+        assertArrayEquals(expected, Arrays.copyOfRange(dest, 5, 5 + expected.length));
+        assertEquals('#', (char) dest[4]);
+        assertEquals('#', (char) dest[5 + expected.length]);
+    }
+
+    @Test
+    void writesAnExactFit() {
+        byte[] expected = SerializerManager.toJsonBytes(document());
+        byte[] dest = new byte[expected.length + 3];
+
+        assertEquals(expected.length, SerializerManager.writeTo(document(), dest, 3));
+        assertArrayEquals(expected, Arrays.copyOfRange(dest, 3, dest.length));
+    }
+
+    @Test
+    void rejectsADestinationThatIsTooSmall() {
+        byte[] expected = SerializerManager.toJsonBytes(document());
+        byte[] dest = new byte[expected.length + 2];
+
+        assertThrows(IndexOutOfBoundsException.class, () -> SerializerManager.writeTo(document(), dest, 3));
+    }
+}
@@ -0,0 +1,18 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+import dev.cwby.jasonify.annotation.JsonCreator;
+
+@Json
+public class Account {
+    public final String id;
+    public final int version;
+    public final Money balance;
+
+    @JsonCreator
+    public Account(String id, Money balance, int version) {
+        this.id = id;
+        this.balance = balance;
+        this.version = version;
+    }
+}
@@ -0,0 +1,15 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+
+import java.util.List;
+
+@Json
+public class ArrayHolder {
+    public String[] names;
+    public Integer[] boxed;
+    public int[] ints;
+    public Item[] items;
+    public String[][] grid;
+    public List<Item> itemList;
+}
@@ -0,0 +1,14 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+import dev.cwby.jasonify.annotation.JsonName;
+
+// "Aa", "BB" and "C#" share a String hash code
+@Json
+public class Colliding {
+    @JsonName("Aa")
+    public int first;
+    @JsonName("BB")
+    public int second;
+    public String label;
+}
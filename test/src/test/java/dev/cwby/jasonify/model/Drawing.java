@@ -0,0 +1,13 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+
+import java.util.List;
+
+@Json
+public class Drawing {
+    public Point origin;
+    public Segment edge;
+    public List<Point> points;
+    public Point missing;
+}
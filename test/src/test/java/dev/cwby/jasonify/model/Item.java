@@ -0,0 +1,17 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+
+@Json
+public class Item {
+    public int id;
+    public String label;
+
+    public Item() {
+    }
+
+    public Item(int id, String label) {
+        this.id = id;
+        this.label = label;
+    }
+}
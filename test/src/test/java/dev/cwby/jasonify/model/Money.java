@@ -0,0 +1,28 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+import dev.cwby.jasonify.annotation.JsonCreator;
+
+@Json
+public final class Money {
+    private final long cents;
+    private final String currency;
+
+    private Money(long cents, String currency) {
+        this.cents = cents;
+        this.currency = currency;
+    }
+
+    @JsonCreator
+    public static Money of(String currency, long cents) {
+        return new Money(cents, currency);
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+}
@@ -0,0 +1,22 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+import dev.cwby.jasonify.annotation.JsonCreator;
+
+import java.util.List;
+
+// the creator takes some fields, the others are set after it
+@Json
+public class Order {
+    public final String id;
+    public final int quantity;
+    public String note;
+    public List<String> tags;
+    public Money total;
+
+    @JsonCreator
+    public Order(int quantity, String id) {
+        this.id = id;
+        this.quantity = quantity;
+    }
+}
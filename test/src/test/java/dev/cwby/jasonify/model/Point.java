@@ -0,0 +1,7 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+
+@Json(inline = true)
+public record Point(int x, int y) {
+}
@@ -0,0 +1,9 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+
+import java.util.List;
+
+@Json
+public record Polygon(String name, List<Point> vertices, double area, boolean closed) {
+}
@@ -0,0 +1,16 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+
+@Json
+public class Primitives {
+    public int anInt;
+    public long aLong;
+    public float aFloat;
+    public double aDouble;
+    public boolean aBoolean;
+    public Integer boxedInt;
+    public Long boxedLong;
+    public Double boxedDouble;
+    public byte[] bytes;
+}
@@ -0,0 +1,14 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+import dev.cwby.jasonify.annotation.JsonName;
+
+@Json
+public class Renamed {
+    @JsonName("first-name")
+    public String firstName;
+    @JsonName("say \"hi\"")
+    public String quoted;
+    @JsonName("número")
+    public int number;
+}
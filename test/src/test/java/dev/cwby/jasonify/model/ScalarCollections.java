@@ -0,0 +1,22 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+
+import java.util.List;
+
+@Json
+public class ScalarCollections {
+    public List<Integer> ints;
+    public List<Long> longs;
+    public List<Double> doubles;
+    public List<Float> floats;
+    public List<Boolean> flags;
+    public List<String> strings;
+    public long[] longArray;
+    public double[] doubleArray;
+    public float[] floatArray;
+    public boolean[] booleanArray;
+    public Boolean[] boxedFlags;
+    public Long[] boxedLongs;
+    public Double[] boxedDoubles;
+}
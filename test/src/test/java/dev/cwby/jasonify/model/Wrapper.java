@@ -0,0 +1,21 @@
+package dev.cwby.jasonify.model;
+
+import dev.cwby.jasonify.annotation.Json;
+
+import java.util.Map;
+
+@Json
+public class Wrapper {
+    public Item item;
+    public Map<String, Item> byName;
+    private int reads;
+
+    public Item getItem() {
+        reads++;
+        return item;
+    }
+
+    public int reads() {
+        return reads;
+    }
+}